@@ -0,0 +1,24 @@
+import java.util.concurrent.ForkJoinPool;
+
+public class BacktrackingStrategy implements ReconstructionStrategy {
+	/**
+	 * Search with a DoubleDigestSearch, which places fragments from left to right and undoes a choice as soon as an enzyme's fragments can no longer be matched;
+	 * the search is split across pool if it is given
+	 */
+	public int[][] reconstruct(int lengthDNA, boolean circular, int[] allEnzymesTrack, int[][] enzymeTracks, ForkJoinPool pool) {
+		DoubleDigestSearch search = new DoubleDigestSearch(lengthDNA, circular, allEnzymesTrack, enzymeTracks);
+		if (pool != null) {
+			search = ParallelDigestSearch.search(pool, search);
+		} else if (!search.next()) {
+			search = null;
+		}
+		if (search == null) {
+			return null;
+		}
+		return new int[][]{search.getCuts(), search.getCutEnzymes()};
+	}
+
+	public String toString() {
+		return "Backtracking";
+	}
+}
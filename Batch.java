@@ -0,0 +1,251 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * Non-interactive batch mode.
+ * Run with: java Batch [-threads n] [file]
+ * Reads one record per line from file, or from standard input if no file is given, and writes one JSON line per record, in input order.
+ * A record is either a DNA segment in the LinearDNA or CircularDNA input format, for example
+ * 		-A---B--B---A--A-
+ * 		A-B---B--A--B---A---->
+ * or an electrophoresis, as its maximum scale followed by one track per enzyme and, if there is more than one enzyme, the track for all enzymes, separated by "|"
+ * 		12 | A 1 1 2 8 | B 2 4 6 | 1 1 2 2 3 3
+ * where the maximum scale may be followed by "~" and the relative error of the fragment sizes, such as "12 ~0.05", if they were measured inexactly.
+ * An enzyme is named by a single letter or by a longer name such as EcoRI, which is written between square brackets in a DNA segment, as in -A--[EcoRI]---A-.
+ * Blank lines and lines starting with "#" are skipped.
+ */
+
+public class Batch {
+	public static final int QUEUED_PER_THREAD = 4;
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		String file = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-threads") && i+1 < args.length) {
+				threads = Math.max(1, Integer.parseInt(args[++i]));
+			} else {
+				file = args[i];
+			}
+		}
+		BufferedReader in = new BufferedReader(file == null ? new InputStreamReader(System.in) : new FileReader(file));
+		try {
+			run(in, System.out, threads);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Process every record read from in on a pool of threads, writing one JSON line per record to out in the order the records were read;
+	 * at most QUEUED_PER_THREAD records per thread are read ahead of the oldest record that has not been written yet
+	 * @param in		a BufferedReader holding one record per line
+	 * 					in != null
+	 * @param out		a PrintStream to write the JSON lines to
+	 * 					out != null
+	 * @param threads	the number of records to process at the same time
+	 * 					threads > 0
+	 */
+	public static void run(BufferedReader in, PrintStream out, int threads) throws IOException, InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		ArrayDeque<Future<String>> pending = new ArrayDeque<Future<String>>();
+		try {
+			int lineNumber = 0;
+			String line;
+			while ((line = in.readLine()) != null) {
+				lineNumber++;
+				String record = line.trim();
+				if (record.isEmpty() || record.startsWith("#")) {
+					continue;
+				}
+				int recordLine = lineNumber;
+				pending.add(pool.submit(() -> process(recordLine, record)));
+				if (pending.size() >= threads * QUEUED_PER_THREAD) {
+					out.println(result(pending.remove()));
+				}
+			}
+			while (!pending.isEmpty()) {
+				out.println(result(pending.remove()));
+			}
+			out.flush();
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Analyse a single record
+	 * @param line		the line number of the record in the input
+	 * @param record	a DNA segment or an electrophoresis, as described at the top of this file
+	 * @return			a JSON object on a single line describing the record and how long it took to analyse
+	 */
+	public static String process(int line, String record) {
+		long start = System.nanoTime();
+		StringBuilder res = new StringBuilder();
+		res.append("{\"line\":").append(line).append(",\"input\":").append(quote(record));
+		try {
+			if (Character.isDigit(record.charAt(0))) {
+				Electrophoresis ele = parseElectrophoresis(record);
+				if (ele == null) {
+					res.append(",\"error\":\"invalid electrophoresis\"");
+				} else {
+					res.append(",\"kind\":\"electrophoresis\"");
+					appendDNA(res, ele.getDNA());
+				}
+			} else if (LinearDNA.isValidInput(record)) {
+				res.append(",\"kind\":\"linear\"");
+				appendDNA(res, new LinearDNA(record));
+			} else if (CircularDNA.isValidInput(record)) {
+				res.append(",\"kind\":\"circular\"");
+				appendDNA(res, new CircularDNA(record));
+			} else {
+				res.append(",\"error\":\"invalid DNA segment\"");
+			}
+		} catch (RuntimeException e) {
+			res.append(",\"error\":").append(quote(e.toString()));
+		}
+		res.append(String.format(Locale.ROOT, ",\"millis\":%.3f}", (System.nanoTime() - start) / 1e6));
+		return res.toString();
+	}
+
+	/**
+	 * Create the Electrophoresis object described by a record, reconstructing its DNA segment
+	 * @param record	an electrophoresis, as described at the top of this file
+	 * @return			the Electrophoresis object; null if record is not a well-formed electrophoresis
+	 */
+	public static Electrophoresis parseElectrophoresis(String record) {
+		String[] fields = record.split("\\|");
+		String[] scale = fields[0].trim().split("\\s+");
+		int maxScale;
+		double tolerance = 0;
+		try {
+			maxScale = Integer.parseInt(scale[0]);
+			if (scale.length == 2 && scale[1].startsWith("~")) {
+				tolerance = Double.parseDouble(scale[1].substring(1));
+			} else if (scale.length != 1) {
+				return null;
+			}
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		if (maxScale <= 0 || tolerance < 0) {
+			return null;
+		}
+		int numEnzymes = 0;
+		while (numEnzymes+1 < fields.length && fields[numEnzymes+1].trim().matches("[A-Za-z].*")) {
+			numEnzymes++;
+		}
+		if (numEnzymes == 0 || fields.length != 1 + numEnzymes + (numEnzymes > 1 ? 1 : 0)) {
+			return null;
+		}
+		EnzymeIndex names = new EnzymeIndex();
+		Enzyme[] enzymes = new Enzyme[numEnzymes];
+		for (int i = 0; i < numEnzymes; i++) {
+			String[] words = fields[i+1].trim().split("\\s+");
+			String name = (words[0].length() == 1) ? words[0].toUpperCase() : words[0];
+			int[] fragmentSizes = parseFragments(words, 1, maxScale);
+			if (!EnzymeRegistry.isValidName(name) || names.indexOf(EnzymeRegistry.id(name)) >= 0 || fragmentSizes == null) {
+				return null;
+			}
+			names.add(name);
+			enzymes[i] = new Enzyme(name, fragmentSizes);
+		}
+		int[] allEnzymesTrack = new int[0];
+		if (numEnzymes > 1) {
+			allEnzymesTrack = parseFragments(fields[fields.length-1].trim().split("\\s+"), 0, maxScale);
+			if (allEnzymesTrack == null) {
+				return null;
+			}
+		}
+		if (tolerance > 0) {
+			return new Electrophoresis(maxScale, enzymes, allEnzymesTrack, tolerance);
+		}
+		return new Electrophoresis(maxScale, enzymes, allEnzymesTrack);
+	}
+
+	/**
+	 * @param words		an array of Strings
+	 * @param from		the index of the first word holding a fragment size
+	 * @param maxScale	the largest allowed fragment size
+	 * @return			an array of the fragment sizes held by words[from], words[from+1], ...;
+	 * 					null if there are none or any of them is not an integer in [1, maxScale]
+	 */
+	private static int[] parseFragments(String[] words, int from, int maxScale) {
+		if (words.length <= from || words[from].isEmpty()) {
+			return null;
+		}
+		int[] res = new int[words.length - from];
+		for (int i = 0; i < res.length; i++) {
+			try {
+				res[i] = Integer.parseInt(words[from + i]);
+			} catch (NumberFormatException e) {
+				return null;
+			}
+			if (res[i] <= 0 || res[i] > maxScale) {
+				return null;
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Append the fields describing a DNA segment and its electrophoresis to a JSON object
+	 */
+	private static void appendDNA(StringBuilder res, DNA dna) {
+		res.append(",\"valid\":").append(dna.isValid());
+		if (!dna.isValid()) {
+			return;
+		}
+		Electrophoresis ele = dna.getEle();
+		res.append(",\"dna\":").append(quote(dna.getRep()));
+		res.append(",\"circular\":").append(dna instanceof CircularDNA);
+		res.append(",\"length\":").append(dna.getLengthDNA());
+		res.append(",\"cuts\":").append(dna.getTotalCuts());
+		res.append(",\"tracks\":{");
+		for (int i = 0; i < ele.getNumTracks(); i++) {
+			String name = (i < dna.getEnzymes().length) ? dna.getEnzymes()[i].getName() : "all";
+			res.append(i > 0 ? "," : "").append(quote(name)).append(":[");
+			int[] fragmentSizes = ele.getTrack(i).getFragmentSizes();
+			for (int j = 0; j < fragmentSizes.length; j++) {
+				res.append(j > 0 ? "," : "").append(fragmentSizes[j]);
+			}
+			res.append("]");
+		}
+		res.append("}");
+	}
+
+	/**
+	 * @return	s as a JSON string literal
+	 */
+	private static String quote(String s) {
+		StringBuilder res = new StringBuilder("\"");
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c == '"' || c == '\\') {
+				res.append('\\').append(c);
+			} else if (c < ' ') {
+				res.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+			} else {
+				res.append(c);
+			}
+		}
+		return res.append('"').toString();
+	}
+
+	private static String result(Future<String> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			return "{\"error\":" + quote(e.getCause().toString()) + "}";
+		}
+	}
+}
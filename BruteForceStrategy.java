@@ -0,0 +1,50 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class BruteForceStrategy implements ReconstructionStrategy {
+	/**
+	 * Try every distinct ordering of the fragments produced by all enzymes together with every distinct way to assign the cuts between them to the enzymes,
+	 * until the fragments each enzyme would produce match its track;
+	 * this needs no set up, so it is the cheapest strategy when there are only a few arrangements
+	 */
+	public int[][] reconstruct(int lengthDNA, boolean circular, int[] allEnzymesTrack, int[][] enzymeTracks, ForkJoinPool pool) {
+		int[] labels = ReconstructionStrategy.cutLabels(lengthDNA, circular, allEnzymesTrack, enzymeTracks);
+		if (labels == null) {
+			return null;
+		}
+		int[][] targets = ReconstructionStrategy.sortedTracks(enzymeTracks);
+
+		int[] cuts = new int[labels.length];
+		int[] fragments = new int[allEnzymesTrack.length];
+		Permutations orderings = new Permutations(allEnzymesTrack);
+		while (orderings.hasNext()) {
+			ReconstructionStrategy.placeCuts(circular, orderings.next(), cuts);
+			Permutations assignments = new Permutations(labels);
+			while (assignments.hasNext()) {
+				int[] cutEnzymes = assignments.next();
+				if (matches(lengthDNA, circular, cuts, cutEnzymes, targets, fragments)) {
+					return ReconstructionStrategy.canonical(lengthDNA, circular, cuts, cutEnzymes);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param fragments	an array to work in, at least as long as any track
+	 * @return			true if the fragments each enzyme produces are exactly the sorted fragments in targets; false otherwise
+	 */
+	private static boolean matches(int lengthDNA, boolean circular, int[] cuts, int[] cutEnzymes, int[][] targets, int[] fragments) {
+		for (int e = 0; e < targets.length; e++) {
+			int n = ReconstructionStrategy.enzymeFragments(lengthDNA, circular, cuts, cutEnzymes, e, fragments);
+			if (!Arrays.equals(fragments, 0, n, targets[e], 0, targets[e].length)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public String toString() {
+		return "Brute Force";
+	}
+}
@@ -14,8 +14,16 @@ public class CircularDNA extends DNA {
 		super(ele);
 	}
 	
+	public CircularDNA(Electrophoresis ele, int[] cuts, int[] cutEnzymes) {
+		super(ele, cuts, cutEnzymes);
+	}
+	
+	public CircularDNA(int lengthDNA, int[] cuts, int[] cutEnzymes, String[] enzymeNames) {
+		super(lengthDNA, cuts, cutEnzymes, enzymeNames);
+	}
+	
 	public void setCuts() {
-		if (getDNA().size() > 0) {
+		if (getCuts() != null) {
 			super.setCuts();
 		} else {
 			for (Enzyme enzyme : getEnzymes()) {
@@ -25,6 +33,49 @@ public class CircularDNA extends DNA {
 		}
 	}
 	
+	/**
+	 * Check whether another circular DNA segment is this one started at a different cut, in O(n) time with CyclicMatcher.rotationOf()
+	 * @param dna	a CircularDNA object
+	 * @return		true if both are valid, have enzymes with the same names, and dna is this segment rotated; false otherwise
+	 */
+	public boolean isRotationOf(CircularDNA dna) {
+		if (!isValid() || !dna.isValid() || getLengthDNA() != dna.getLengthDNA() || getEnzymes().length != dna.getEnzymes().length) {
+			return false;
+		}
+		EnzymeIndex enzymes = new EnzymeIndex();
+		for (Enzyme enzyme : getEnzymes()) {
+			enzymes.add(enzyme.getId());
+		}
+		int[] index = new int[dna.getEnzymes().length];
+		for (int i = 0; i < index.length; i++) {
+			index[i] = enzymes.indexOf(dna.getEnzymes()[i].getId());
+			if (index[i] < 0) {
+				return false;
+			}
+		}
+		int[] otherLabels = new int[dna.getCuts().length];
+		for (int i = 0; i < otherLabels.length; i++) {
+			otherLabels[i] = index[dna.getCutEnzymes()[i]];
+		}
+		int[] labels = new int[getCuts().length];
+		for (int i = 0; i < labels.length; i++) {
+			labels[i] = getCutEnzymes()[i];
+		}
+		return CyclicMatcher.rotationOf(fragments(this), labels, fragments(dna), otherLabels) >= 0;
+	}
+
+	/**
+	 * @return	an array of integers where element i is the size of the fragment that starts at cut i of dna
+	 */
+	private static int[] fragments(CircularDNA dna) {
+		int[] cuts = dna.getCuts();
+		int[] res = new int[cuts.length];
+		for (int i = 0; i < cuts.length; i++) {
+			res[i] = ((i == cuts.length - 1) ? dna.getLengthDNA() + cuts[0] : cuts[i+1]) - cuts[i];
+		}
+		return res;
+	}
+
 	public void codeRepresentation() {
 		super.codeRepresentation();
 		setRep(getRep() + ">");
@@ -34,7 +85,7 @@ public class CircularDNA extends DNA {
 		if (!DNA.isValidInput(inp)) {
 			return false;
 		}
-		if (!(Character.isUpperCase(inp.charAt(0)) && inp.charAt(inp.length()-2) == '-' && inp.charAt(inp.length()-1) == '>')) {
+		if (!((Character.isUpperCase(inp.charAt(0)) || inp.charAt(0) == '[') && inp.charAt(inp.length()-2) == '-' && inp.charAt(inp.length()-1) == '>')) {
 			return false;
 		}
 		return true;
@@ -43,37 +94,4 @@ public class CircularDNA extends DNA {
 	public void decodeRepresentation(String inp) {
 		super.decodeRepresentation(inp.substring(0, inp.length()-1));
 	}
-	
-	public String testTrack(String enzymeName, int[] perm, int max, String longestTest) {	
-		String res = testTrack(enzymeName, perm, (perm[perm.length-1] == max) ? true : false);		
-		for (int i = 0; i < longestTest.length(); i++) {
-			char c1 = longestTest.charAt(i);
-			char c2 = res.charAt(i);			
-			if (c1 == '-' && c2 == '-') {
-				continue; 
-			} else if (c1 == '!' && Character.isAlphabetic(c2)) {
-				continue;
-			} else if (c1 == '!' && c2 == '-') {
-				res = res.substring(0, i) + " " + res.substring(i);
-			} else {
-				if (perm[perm.length-1] == max) {
-					int[] permTmp = new int[perm.length+1];
-					permTmp[0] = 1;
-					for (int j = 1; j < permTmp.length; j++) {
-						permTmp[j] = perm[j-1];
-					}
-					permTmp[permTmp.length-1]--;
-					return testTrack(enzymeName, permTmp, max, longestTest);
-				} else if (perm[0] < max-1) {
-					int[] permTmp = perm.clone();
-					permTmp[0]++;
-					permTmp[permTmp.length-1]--;
-					return testTrack(enzymeName, permTmp, max, longestTest);
-				} else {
-					return null;
-				}
-			}
-		}
-		return res;
-	}
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+public class CyclicMatcher {
+	/**
+	 * Find the least rotation of a circular arrangement, comparing fragment sizes first and enzymes second,
+	 * by the two pointer method: two candidate rotations i and j are compared until they differ k places in,
+	 * and then none of the k+1 rotations starting from the greater one can be the least, so it skips past all of them;
+	 * this takes O(n) time instead of comparing every rotation with the least one found so far
+	 * @param fragments	an array of integers where fragments[i] is the size of the fragment that starts at cut i
+	 * 					fragments.length > 0
+	 * @param labels	an array of integers where labels[i] is the index of the enzyme that made cut i
+	 * 					labels.length == fragments.length
+	 * @return			the smallest r such that the arrangement starting at cut r is the least of its rotations
+	 */
+	public static int leastRotation(int[] fragments, int[] labels) {
+		return leastRotation(fragments, labels, null);
+	}
+
+	/**
+	 * Find the least rotation of a circular arrangement as leastRotation(fragments, labels) does, counting the cuts it compares
+	 * @param comparisons	an array whose first element is increased by the number of pairs of cuts compared, or null to not count them
+	 * @return				the smallest r such that the arrangement starting at cut r is the least of its rotations
+	 */
+	public static int leastRotation(int[] fragments, int[] labels, long[] comparisons) {
+		int n = fragments.length;
+		int i = 0;
+		int j = 1;
+		int k = 0;
+		long compared = 0;
+		while (i < n && j < n && k < n) {
+			int compare = compare(fragments, labels, (i + k) % n, fragments, labels, (j + k) % n);
+			compared++;
+			if (compare == 0) {
+				k++;
+				continue;
+			}
+			if (compare > 0) {
+				i += k + 1;
+			} else {
+				j += k + 1;
+			}
+			if (i == j) {
+				j++;
+			}
+			k = 0;
+		}
+		if (comparisons != null) {
+			comparisons[0] += compared;
+		}
+		return Math.min(i, j);
+	}
+
+	/**
+	 * Find the rotation of one circular arrangement that gives another, by searching for the second in the first written out twice
+	 * with the Knuth-Morris-Pratt automaton, which tests every rotation in O(n) time in total
+	 * @param fragments			an array of integers where fragments[i] is the size of the fragment that starts at cut i
+	 * @param labels			an array of integers where labels[i] is the index of the enzyme that made cut i
+	 * 							labels.length == fragments.length
+	 * @param otherFragments	the fragments of the other arrangement, in the same form
+	 * @param otherLabels		the enzymes of the other arrangement, in the same form
+	 * 							otherLabels.length == otherFragments.length
+	 * @return					the smallest r such that the arrangement starting at cut r is the other arrangement; -1 if there is none
+	 */
+	public static int rotationOf(int[] fragments, int[] labels, int[] otherFragments, int[] otherLabels) {
+		int n = fragments.length;
+		if (n != otherFragments.length) {
+			return -1;
+		}
+		if (n == 0) {
+			return 0;
+		}
+		int[] failure = new int[n];
+		for (int i = 1, k = 0; i < n; i++) {
+			while (k > 0 && compare(otherFragments, otherLabels, i, otherFragments, otherLabels, k) != 0) {
+				k = failure[k-1];
+			}
+			if (compare(otherFragments, otherLabels, i, otherFragments, otherLabels, k) == 0) {
+				k++;
+			}
+			failure[i] = k;
+		}
+		for (int i = 0, k = 0; i < 2*n - 1; i++) {
+			while (k > 0 && compare(fragments, labels, i % n, otherFragments, otherLabels, k) != 0) {
+				k = failure[k-1];
+			}
+			if (compare(fragments, labels, i % n, otherFragments, otherLabels, k) == 0) {
+				k++;
+			}
+			if (k == n) {
+				return i - n + 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return	a negative integer, zero, or a positive integer as the cut at index a of the first arrangement
+	 * 			is less than, equal to, or greater than the cut at index b of the second, comparing fragment sizes first and enzymes second
+	 */
+	private static int compare(int[] fragmentsA, int[] labelsA, int a, int[] fragmentsB, int[] labelsB, int b) {
+		if (fragmentsA[a] != fragmentsB[b]) {
+			return Integer.compare(fragmentsA[a], fragmentsB[b]);
+		}
+		return Integer.compare(labelsA[a], labelsB[b]);
+	}
+}
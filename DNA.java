@@ -3,7 +3,8 @@ import java.util.Arrays;
 
 public abstract class DNA {
 	private Electrophoresis ele;
-	private ArrayList<Object> dna;
+	private int[] cuts;
+	private short[] cutEnzymes;
 	private String rep;
 	private int lengthDNA;
 	private int totalCuts;
@@ -15,9 +16,7 @@ public abstract class DNA {
 	 * 				dna != null
 	 */
 	public DNA(ArrayList<Object> dna) {
-		this.dna = dna;
-		codeRepresentation();
-		setLengthDNA();
+		setDNA(dna);
 		setCuts();
 		if (!isValid()) {
 			clearObject();
@@ -35,10 +34,8 @@ public abstract class DNA {
 		if (!isValidInput(inp)) {
 			return;
 		}
-		dna = new ArrayList<Object>();
 		rep = inp;
 		decodeRepresentation(inp);
-		setLengthDNA();
 		setCuts();
 		if (!isValid()) {
 			clearObject();
@@ -50,70 +47,38 @@ public abstract class DNA {
 	/**
 	 * Create one possible DNA object based on given Electrophoresis
 	 * (a single Electrophoresis object could come from multiple DNA objects,
-	 * but a DNA object can only produce a single Electrophoresis object)
+	 * but a DNA object can only produce a single Electrophoresis object);
+	 * a linear segment is never greater than its reverse, and a circular segment is the least of its rotations
 	 * @param ele	an Electrophoresis object
 	 * 				ele != null
 	 */
 	public DNA(Electrophoresis ele) {
 		this.ele = ele;
-		dna = new ArrayList<Object>();
 		setLengthDNA();
 		enzymes = ele.getEnzymes();
 		setCuts();
 		
 		if (enzymes.length == 1 && !(this instanceof LinearDNA && enzymes[0].getFragmentSizes().length == 1)) {
-			rep = testTrack(enzymes[0].getName(), enzymes[0].getFragmentSizes(), (this instanceof LinearDNA) ? false : true);
-			if (this instanceof CircularDNA) { rep += ">"; }
-			decodeRepresentation(rep);
+			int[] fragmentSizes = enzymes[0].getFragmentSizes().clone();
+			Arrays.sort(fragmentSizes);
+			int numCuts = (this instanceof LinearDNA) ? fragmentSizes.length - 1 : fragmentSizes.length;
+			setCuts(fragmentCuts(fragmentSizes, numCuts), new int[numCuts]);
 			return;
 		}
 		
-		if (this instanceof CircularDNA && ele.moreThanOneEnzyme()) {
-			boolean singleCuts = true;
-			for (Enzyme enzyme : enzymes) {
-				if (!(enzyme.getNumFragments() == 1 && enzyme.getFragmentSizes()[0] == lengthDNA)) {
-					singleCuts = false;
-					break;
-				}
-			}
-			if (singleCuts) {
-				for (int i = 0; i < enzymes.length; i++) {
-					dna.add(enzymes[i].getName());
-					dna.add(ele.getAllEnzymesTrack()[i]);
-				}
-				codeRepresentation();
-				return;
-			}
+		int[][] tracks = new int[enzymes.length][];
+		for (int i = 0; i < enzymes.length; i++) {
+			tracks[i] = enzymes[i].getFragmentSizes();
 		}
-		
-		int totalCuts = 0;
-		int totalFragments = (this instanceof LinearDNA) ? -1 : 0;
-		for (Enzyme enzyme : enzymes) {
-			totalCuts += enzyme.getNumCuts();
-			totalFragments += enzyme.getNumFragments();
+		boolean circular = this instanceof CircularDNA;
+		int[] allEnzymesTrack = ele.moreThanOneEnzyme() ? ele.getAllEnzymesTrack() : tracks[0];
+		ReconstructionStrategy strategy = ele.getStrategy();
+		if (strategy == null) {
+			strategy = ReconstructionStrategy.select(circular, allEnzymesTrack, tracks);
 		}
-		
-		if (totalCuts == this.totalCuts && totalFragments == ele.getTotalFragments()) {
-			ArrayList<ArrayList<int[]>> permsByEnzyme = new ArrayList<ArrayList<int[]>>();
-			if (ele.moreThanOneEnzyme()) {
-				permsByEnzyme.add(new ArrayList<int[]>());			
-				Helper.permutations(ele.getAllEnzymesTrack(), 0, permsByEnzyme.get(0));
-			}
-			for (Enzyme enzyme : enzymes) {
-				ArrayList<int[]> tmp = new ArrayList<int[]>();
-				Helper.permutations(enzyme.getFragmentSizes(), 0, tmp);
-				permsByEnzyme.add(tmp);
-			}
-			
-			int[] count = new int[permsByEnzyme.size()];
-			int[] sizes = new int[permsByEnzyme.size()];
-			for (int i = 0; i < sizes.length; i++) {
-				sizes[i] = permsByEnzyme.get(i).size() - 1;
-			}
-									
-			for (int i = 0; i < count.length; i++) {
-				test(i, count, sizes, permsByEnzyme);
-			}
+		int[][] found = strategy.reconstruct(lengthDNA, circular, allEnzymesTrack, tracks, ele.getPool());
+		if (found != null) {
+			setCuts(found[0], found[1]);
 		}
 		
 		if (!isValid()) {
@@ -121,28 +86,116 @@ public abstract class DNA {
 		}
 	}
 	
+	/**
+	 * Create DNA object for a given Electrophoresis from cuts that are already known to produce it,
+	 * such as those remembered by a ReconstructionCache
+	 * @param ele			an Electrophoresis object
+	 * 						ele != null
+	 * @param cuts			an array of integers representing the position of each cut, in kilobases from the left end, in increasing order;
+	 * 						null if ele could not have been produced by this type of DNA segment
+	 * @param cutEnzymes	an array of integers representing the index in ele.getEnzymes() of the enzyme that made each cut
+	 */
+	public DNA(Electrophoresis ele, int[] cuts, int[] cutEnzymes) {
+		this.ele = ele;
+		setLengthDNA();
+		enzymes = ele.getEnzymes();
+		setCuts();
+		if (cuts != null) {
+			setCuts(cuts, cutEnzymes);
+		}
+		if (!isValid()) {
+			clearObject();
+		}
+	}
+	
+	/**
+	 * Create DNA object based on the positions of its cuts
+	 * @param lengthDNA		an integer representing the number of kilobases in the DNA segment
+	 * 						lengthDNA > 0
+	 * @param cuts			an array of integers representing the position of each cut, in kilobases from the left end, in increasing order;
+	 * 						null to create an invalid DNA object, such as for input that could not be read
+	 * @param cutEnzymes	an array of integers representing the index in enzymeNames of the enzyme that made each cut
+	 * 						cutEnzymes.length == cuts.length
+	 * @param enzymeNames	an array of Strings representing the name of each enzyme
+	 * 						enzymeNames != null
+	 */
+	public DNA(int lengthDNA, int[] cuts, int[] cutEnzymes, String[] enzymeNames) {
+		if (cuts == null) {
+			return;
+		}
+		this.lengthDNA = lengthDNA;
+		enzymes = new Enzyme[enzymeNames.length];
+		for (int i = 0; i < enzymes.length; i++) {
+			enzymes[i] = new Enzyme(enzymeNames[i]);
+		}
+		setCuts(cuts, cutEnzymes);
+		setCuts();
+		if (!isValid()) {
+			clearObject();
+			return;
+		}
+		ele = new Electrophoresis(this);
+	}
+	
 	/**
 	 * @return	the Electrophoresis object created from this DNA object
 	 */
 	public Electrophoresis getEle() { return ele; }
 	
 	/**
-	 * @return	an ArrayList of alternating Strings and Integers, 
+	 * @return	a new ArrayList of alternating Strings and Integers built from getCuts() and getCutEnzymes(), 
 	 * 			where each String represents a cut by an enzyme,
-	 * 			and each Integer represents the number of kilobases between the previous and subsequent cut
+	 * 			and each Integer represents the number of kilobases between the previous and subsequent cut;
+	 * 			null if this DNA object is not valid
 	 * 			If LinearDNA object: dna.get(0) && dna.get(dna.size()-1) are Integers
 	 * 			If CircularDNA object: dna.get(0) is a String && dna.get(dna.size()-1) is an Integer
 	 */
-	public ArrayList<Object> getDNA() { return dna; }
+	public ArrayList<Object> getDNA() {
+		if (cuts == null) {
+			return null;
+		}
+		ArrayList<Object> res = new ArrayList<Object>(2*cuts.length + 1);
+		int previous = 0;
+		for (int i = 0; i < cuts.length; i++) {
+			if (cuts[i] > previous) {
+				res.add(cuts[i] - previous);
+			}
+			res.add(enzymes[cutEnzymes[i]].getName());
+			previous = cuts[i];
+		}
+		if (lengthDNA > previous) {
+			res.add(lengthDNA - previous);
+		}
+		return res;
+	}
+	
+	/**
+	 * @return	an array of integers, where each integer represents the position of a cut, in kilobases from the left end of the DNA segment;
+	 * 			null if this DNA object is not valid
+	 * 			getCuts()[i] <= getCuts()[i+1] for i in [0, getCuts().length-1)
+	 * 			If CircularDNA object: getCuts()[0] == 0
+	 */
+	public int[] getCuts() { return cuts; }
+	
+	/**
+	 * @return	an array of integers, where each integer represents the index in getEnzymes() of the enzyme that made the corresponding cut in getCuts()
+	 * 			getCutEnzymes().length == getCuts().length
+	 */
+	public short[] getCutEnzymes() { return cutEnzymes; }
 	
 	/**
 	 * @return	a String representation of this DNA object, 
 	 * 			where each "-" represents 1 kilobase in a fragment,
-	 * 			and each letter represents a cut made by an enzyme
+	 * 			and each letter, or enzyme name between square brackets, represents a cut made by an enzyme
 	 * 			If LinearDNA object: rep.charAt(0) == '-' && rep.charAt(rep.length()-1) == '-'
-	 * 			If CircularDNA object: Character.isUpperCase(rep.charAt(0)) && rep.charAt(rep.length()-2) == '-' && rep.charAt(rep.lenght()-1) == '>'
+	 * 			If CircularDNA object: (Character.isUpperCase(rep.charAt(0)) || rep.charAt(0) == '[') && rep.charAt(rep.length()-2) == '-' && rep.charAt(rep.lenght()-1) == '>'
 	 */
-	public String getRep() { return rep; }
+	public String getRep() {
+		if (rep == null && isValid()) {
+			codeRepresentation();
+		}
+		return rep; 
+	}
 	
 	/**
 	 * @return	an integer representing the number of kilobases in the DNA segment
@@ -170,11 +223,40 @@ public abstract class DNA {
 	/**
 	 * @return	true if this DNA object is valid; false otherwise
 	 */
-	public boolean isValid() { return dna != null && dna.size() > 0 && lengthDNA > 0; }
+	public boolean isValid() { return cuts != null && lengthDNA > 0; }
 	
 	public void setEle(Electrophoresis ele) { this.ele = ele; }
 	
-	public void setDNA(ArrayList<Object> dna) { this.dna = dna; }
+	/**
+	 * Set cuts, cutEnzymes, lengthDNA and enzymes based on an ArrayList of Objects
+	 * @param dna	an ArrayList containing alternating Strings and Integers
+	 * 				dna != null
+	 */
+	public void setDNA(ArrayList<Object> dna) {
+		int numCuts = 0;
+		for (Object o : dna) {
+			if (o instanceof String) {
+				numCuts++;
+			}
+		}
+		cuts = new int[numCuts];
+		cutEnzymes = new short[numCuts];
+		EnzymeIndex enzymeNames = new EnzymeIndex();
+		int position = 0;
+		int n = 0;
+		for (Object o : dna) {
+			if (o instanceof Integer) {
+				position += (int) o;
+			} else {
+				cuts[n] = position;
+				cutEnzymes[n] = (short) enzymeNames.add((String) o);
+				n++;
+			}
+		}
+		lengthDNA = position;
+		setEnzymes(enzymeNames);
+		rep = null;
+	}
 	
 	public void setRep(String rep) { this.rep = rep; }
 	
@@ -185,69 +267,43 @@ public abstract class DNA {
 	public void setEnzymes(Enzyme[] enzymes) { this.enzymes = enzymes; }
 	
 	/**
-	 * Set lengthDNA
+	 * Set lengthDNA based on the Electrophoresis this DNA object is reconstructed from
 	 */
 	public void setLengthDNA() {
-		lengthDNA = 0;
-		if (dna.size() > 0) {
-			for (Object o : dna) {
-				if (o instanceof Integer) {
-					lengthDNA += (int) o;
-				}
-			}
-		} else {
-			int c = ele.getTracks()[0].length-1;
-			for (int r = 0; r < ele.getTracks().length; r++) {
-				if (ele.getTracks()[r][c] > 0) {
-					lengthDNA += ele.getTracks()[r][c]*(r + 1);
-				}
-			}
-		}
+		lengthDNA = ele.getTrack(ele.getNumTracks()-1).getLength();
 	}
 	
 	/**
 	 * Set numCuts for each enzyme used on this DNA segment and totalCuts
 	 */
 	public void setCuts() {
-		ArrayList<String> enzymeNames = new ArrayList<String>();		
-		for (Object o : dna) {
-			if (o instanceof String) {
-				if (!enzymeNames.contains(o)) {
-					enzymeNames.add((String) o);
-				}
-			}
-		}
-		int[] numCuts = new int[enzymeNames.size()];
-		for (Object o : dna) {
-			if (o instanceof String) {
-				numCuts[enzymeNames.indexOf((String) o)]++;
-			}
+		int[] numCuts = new int[enzymes.length];
+		for (short enzyme : cutEnzymes) {
+			numCuts[enzyme]++;
 		}
-		enzymes = new Enzyme[enzymeNames.size()];
-		for (int i = 0; i < enzymeNames.size(); i++) {
-			enzymes[i] = new Enzyme(enzymeNames.get(i), numCuts[i]);
-		}
-		
-		for (Integer i : numCuts) {
-			totalCuts += i;
+		for (int i = 0; i < enzymes.length; i++) {
+			enzymes[i].setNumCuts(numCuts[i]);
 		}
+		totalCuts = cuts.length;
 	}
 	
 	/**
-	 * Set rep based on dna
+	 * Set rep based on cuts and cutEnzymes
 	 */
 	public void codeRepresentation() {
-		String res = "";
-		for (Object o : dna) {
-			if (o instanceof Integer) {
-				for (int i = 0; i < (int) o; i++) {
-					res += "-";
-				}
-			} else {
-				res += o;
+		StringBuilder res = new StringBuilder(lengthDNA + cuts.length + 1);
+		int previous = 0;
+		for (int i = 0; i <= cuts.length; i++) {
+			int position = (i < cuts.length) ? cuts[i] : lengthDNA;
+			for (int j = previous; j < position; j++) {
+				res.append('-');
 			}
+			if (i < cuts.length) {
+				res.append(EnzymeRegistry.label(enzymes[cutEnzymes[i]].getName()));
+			}
+			previous = position;
 		}
-		rep = res;
+		rep = res.toString();
 	}
 	
 	/**
@@ -258,165 +314,130 @@ public abstract class DNA {
 	public static boolean isValidInput(String inp) {
 		if (inp.length() < 3) { return false; }
 		boolean atLeastOneCut = false;
+		boolean previousCut = false;
 		for (int i = 0; i < inp.length(); i++) {
 			char c = inp.charAt(i);
-			if (Character.isUpperCase(c)) { atLeastOneCut = true; }
-			if (!((Character.isUpperCase(c) || c == '-') || (i == inp.length()-1 && c == '>'))) {
-				return false;
-			}
-		}
-		if (!atLeastOneCut) { return false; }
-		for (int i = 0; i < inp.length()-1; i++) {
-			if (Character.isUpperCase(inp.charAt(i)) && Character.isUpperCase(inp.charAt(i+1))) {
-				return false;
+			if (c == '-') {
+				previousCut = false;
+			} else if (!(i == inp.length()-1 && c == '>')) {
+				int end = cutEnd(inp, i);
+				if (end < 0 || previousCut) {
+					return false;
+				}
+				atLeastOneCut = true;
+				previousCut = true;
+				i = end - 1;
 			}
 		}
-		return true;
+		return atLeastOneCut;
 	}
 	
 	/**
-	 * Set dna based on user input
+	 * Set cuts, cutEnzymes, lengthDNA and enzymes based on user input
 	 * @param inp	a String generated from user input
 	 */
 	public void decodeRepresentation(String inp) {
-		if (Character.isUpperCase(inp.charAt(0))) {
-			dna.add("" + inp.charAt(0));
+		int numCuts = 0;
+		for (int i = 0; i < inp.length(); i++) {
+			if (inp.charAt(i) != '-') {
+				numCuts++;
+				i = cutEnd(inp, i) - 1;
+			}
 		}
-		int lengthFragment = 0;
+		cuts = new int[numCuts];
+		cutEnzymes = new short[numCuts];
+		EnzymeIndex enzymeNames = new EnzymeIndex();
+		int position = 0;
+		int n = 0;
 		for (int i = 0; i < inp.length(); i++) {
 			char c = inp.charAt(i);
 			if (c == '-') {
-				lengthFragment++;
+				position++;
 			} else {
-				if (lengthFragment > 0) {
-					dna.add(lengthFragment);
-					dna.add("" + c);
-					lengthFragment = 0;
+				int end = cutEnd(inp, i);
+				cuts[n] = position;
+				if (end == i + 1) {
+					cutEnzymes[n] = (short) enzymeNames.add(EnzymeRegistry.letterId(c));
+				} else {
+					cutEnzymes[n] = (short) enzymeNames.add(inp.substring(i + 1, end - 1));
 				}
+				n++;
+				i = end - 1;
 			}
 		}
-		if (lengthFragment > 0) {
-			dna.add(lengthFragment);
-		}
+		lengthDNA = position;
+		setEnzymes(enzymeNames);
 	}
 	
-	public String testTrack(String enzymeName, int[] perm, boolean cutFirst) {
-		String res = "";
-		for (int fragment : perm) {
-			if (cutFirst) { res += enzymeName; }
-			for (int i = 0; i < fragment; i++) {
-				res += "-";
-			}
-			if (!cutFirst) { res += enzymeName; }
+	/**
+	 * Find the end of the cut written at a given index of user input:
+	 * either a single uppercase letter or an enzyme name between square brackets
+	 * @param inp	a String generated from user input
+	 * @param i		the index in inp where the cut starts
+	 * @return		the index in inp just after the cut; -1 if no cut starts at i
+	 */
+	private static int cutEnd(String inp, int i) {
+		char c = inp.charAt(i);
+		if (c >= 'A' && c <= 'Z') {
+			return i + 1;
 		}
-		if (this instanceof CircularDNA && (enzymeName.equals("!") || cutFirst)) {
-			return res;
+		if (c != '[') {
+			return -1;
 		}
-		return res.substring(0, res.length()-1);
-	}
-	
-	public String testTrack(String enzymeName, int[] perm, int max, String longestTest) {
-		String res = testTrack(enzymeName, perm, (this instanceof LinearDNA) ? false : true);
-		for (int i = 0; i < longestTest.length(); i++) {
-			char c1 = longestTest.charAt(i);
-			char c2 = res.charAt(i);			
-			if (c1 == '-' && c2 == '-') {
-				continue; 
-			} else if (c1 == '!' && Character.isAlphabetic(c2)) {
-				continue;
-			} else if (c1 == '!' && c2 == '-') {
-				res = res.substring(0, i) + " " + res.substring(i);
-			} else {
-				return null;
-			}
+		int end = inp.indexOf(']', i);
+		if (end < 0 || !EnzymeRegistry.isValidName(inp.substring(i + 1, end))) {
+			return -1;
 		}
-		return res;
+		return end + 1;
 	}
 	
-	private String addTests(String[] tests) {
-		String res = "";
-		for (int i = 0; i < tests[0].length(); i++) {
-			char enzyme = '-';
-			boolean blank = true;
-			for (String test : tests) {
-				char c = test.charAt(i);
-				if (Character.isLetter(c)) {
-					if (enzyme == '-') {
-						enzyme = c;
-					} else {
-						enzyme = '?';
-						break;
-					}
-				}
-				if (Character.isLetter(c) || c == '-') {
-					blank = false;
-				}
-			}
-			if (enzyme != '-') {
-				res += enzyme;
-			} else if (blank) {
-				res += ' ';
-			} else {
-				res += "-";
-			}
+	/**
+	 * Set cuts and cutEnzymes based on the cuts found when reconstructing this DNA object from its Electrophoresis;
+	 * rep is only produced once it is asked for
+	 * @param cuts			an array of integers representing the position of each cut, in kilobases from the left end, in increasing order
+	 * @param cutEnzymes	an array of integers representing the index in getEnzymes() of the enzyme that made each cut
+	 * 						cutEnzymes.length == cuts.length
+	 */
+	public void setCuts(int[] cuts, int[] cutEnzymes) {
+		this.cuts = cuts;
+		this.cutEnzymes = new short[cutEnzymes.length];
+		for (int i = 0; i < cutEnzymes.length; i++) {
+			this.cutEnzymes[i] = (short) cutEnzymes[i];
 		}
-		return res;
+		rep = null;
 	}
 	
-	private boolean testEquality(String base, String test) {
-		if (test.indexOf(" ") > -1 || test.indexOf("?") > -1) {
-			return false;
-		}
-		for (int i = 0; i < base.length(); i++) {
-			char c1 = base.charAt(i);
-			char c2 = test.charAt(i);
-			if (c1 == '-' && c2 == '-') {
-				continue;
-			} else if (c1 == '!' && Character.isAlphabetic(c2)) {
-				continue;
-			} else {
-				return false;
-			}
+	/**
+	 * Set enzymes to a new Enzyme for each enzyme in enzymeNames
+	 */
+	private void setEnzymes(EnzymeIndex enzymeNames) {
+		String[] names = enzymeNames.getNames();
+		enzymes = new Enzyme[names.length];
+		for (int i = 0; i < enzymes.length; i++) {
+			enzymes[i] = new Enzyme(names[i]);
 		}
-		return true;
 	}
 	
-	private void test(int start, int[] count, int[] sizes, ArrayList<ArrayList<int[]>> permsByEnzyme) {
-		if (getDNA().size() > 0) { return; }
-		
-		String[] tests = new String[count.length];
-		for (int i = 0; i < count.length; i++) {			
-			int[] tmp = permsByEnzyme.get(i).get(count[i]);
-			if (i == 0) {
-				tests[i] = testTrack("!", tmp, (this instanceof LinearDNA) ? false : true);
+	/**
+	 * Find the cuts that separate consecutive fragments laid out from the left end of the DNA segment
+	 * @param fragmentSizes	an array of integers representing the length of each fragment, from left to right
+	 * @param numCuts		an integer representing the number of cuts to return;
+	 * 						fragmentSizes.length-1 for a linear segment, or fragmentSizes.length for a circular segment that starts with a cut
+	 * @return				an array of integers representing the position of each cut, in kilobases from the left end, in increasing order
+	 */
+	private static int[] fragmentCuts(int[] fragmentSizes, int numCuts) {
+		int[] res = new int[numCuts];
+		int position = 0;
+		for (int i = 0; i < numCuts; i++) {
+			if (numCuts == fragmentSizes.length) {
+				res[i] = position;
+				position += fragmentSizes[i];
 			} else {
-				tests[i] = testTrack(getEnzymes()[i-1].getName(), tmp, tmp[tmp.length-1], tests[0]);
-			}
-		}
-				
-		boolean valid = true;
-		for (String test : tests) {
-			if (test == null) {
-				valid = false;
-				break;
-			}
-		}
-		if (valid) {
-			String fullTest = addTests(Arrays.copyOfRange(tests, 1, tests.length));
-			if (testEquality(tests[0], fullTest)) {
-				rep = fullTest + ((this instanceof LinearDNA) ? "" : ">");
-				decodeRepresentation(fullTest);
-				return;
-			}
-		}
-			
-		int[] countTmp = count.clone();
-		countTmp[start]++;
-		for (int i = start; i < count.length; i++) {
-			if (countTmp[i] < sizes[i]) {
-				test(i, countTmp, sizes, permsByEnzyme);
+				position += fragmentSizes[i];
+				res[i] = position;
 			}
 		}
+		return res;
 	}
 		
 	/**
@@ -424,7 +445,8 @@ public abstract class DNA {
 	 */
 	public void clearObject() {
 		ele = null;
-		dna = null;
+		cuts = null;
+		cutEnzymes = null;
 		rep = null;
 		lengthDNA = 0;
 		totalCuts = 0;
@@ -434,7 +456,7 @@ public abstract class DNA {
 	public String toString() {
 		String objName = getClass().getName();
 		return  objName.substring(0, objName.indexOf("DNA")) + " DNA: " + ((isValid()) ?
-				rep +
+				getRep() +
 				"\n\tLength DNA: " + lengthDNA + 
 				"\n\tTotal Cuts: " + totalCuts 
 				:
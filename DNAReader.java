@@ -0,0 +1,250 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * Reads DNA segments written in the LinearDNA and CircularDNA input formats, one per line, straight from a file or channel.
+ * Each line is validated and decoded into its cuts in a single pass over its bytes, so the input is never held as a String;
+ * files are memory-mapped MAPPED_WINDOW bytes at a time, so they may be larger than 2 GB.
+ */
+
+public class DNAReader implements Iterator<DNA>, Closeable {
+	public static final int MAPPED_WINDOW = 1 << 28;
+	public static final int READ_BUFFER = 1 << 16;
+
+	private ReadableByteChannel channel;
+	private FileChannel file;
+	private long mapped;
+	private ByteBuffer buffer;
+	private boolean endOfInput;
+	private DNA next;
+
+	private int[] cuts = new int[16];
+	private int[] cutEnzymes = new int[16];
+	private int numCuts;
+	private EnzymeIndex enzymes = new EnzymeIndex();
+	private char[] name = new char[16];
+	private int nameLength = -1;
+	private long position;
+	private int length;
+	private char first;
+	private char previous;
+	private boolean previousCut;
+	private boolean closed;
+	private boolean valid;
+
+	/**
+	 * Create DNAReader object that reads the DNA segments in a file through memory-mapped windows
+	 * @param path	the path of the file, holding one DNA segment per line
+	 * 				path != null
+	 */
+	public DNAReader(Path path) throws IOException {
+		this(FileChannel.open(path, StandardOpenOption.READ));
+	}
+
+	/**
+	 * Create DNAReader object that reads the DNA segments in a channel;
+	 * a FileChannel is memory-mapped, any other channel is read through a buffer
+	 * @param channel	a channel holding one DNA segment per line
+	 * 					channel != null
+	 */
+	public DNAReader(ReadableByteChannel channel) {
+		this.channel = channel;
+		if (channel instanceof FileChannel) {
+			file = (FileChannel) channel;
+		} else {
+			buffer = ByteBuffer.allocateDirect(READ_BUFFER);
+			buffer.flip();
+		}
+	}
+
+	/**
+	 * @return	true if there is at least one more line that has not yet been returned by next(); false otherwise
+	 */
+	public boolean hasNext() {
+		if (next == null) {
+			try {
+				next = readDNA();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return next != null;
+	}
+
+	/**
+	 * @return	the DNA segment on the next non-blank line: a LinearDNA or CircularDNA object, depending on its format,
+	 * 			which is not valid if the line is not a valid DNA segment
+	 */
+	public DNA next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		DNA res = next;
+		next = null;
+		return res;
+	}
+
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Read and decode the next non-blank line
+	 * @return	the DNA segment on that line; null at the end of the input
+	 */
+	private DNA readDNA() throws IOException {
+		startLine();
+		while (true) {
+			if (!buffer().hasRemaining()) {
+				if (length > 0) {
+					return endLine();
+				}
+				return null;
+			}
+			byte b = buffer.get();
+			if (b == '\n' || b == '\r') {
+				if (length > 0) {
+					return endLine();
+				}
+			} else {
+				add((char) b);
+			}
+		}
+	}
+
+	private void startLine() {
+		numCuts = 0;
+		enzymes.clear();
+		nameLength = -1;
+		position = 0;
+		length = 0;
+		previous = 0;
+		previousCut = false;
+		closed = false;
+		valid = true;
+	}
+
+	/**
+	 * Validate and decode one more character of the current line
+	 */
+	private void add(char c) {
+		length++;
+		if (length == 1) {
+			first = c;
+		}
+		if (!valid) {
+			return;
+		}
+		if (nameLength >= 0) {
+			addNameChar(c);
+		} else if (closed) {
+			valid = false;
+		} else if (c == '-') {
+			position++;
+			previousCut = false;
+		} else if (c == '>') {
+			closed = true;
+			valid = previous == '-';
+		} else if (c >= 'A' && c <= 'Z' && !previousCut) {
+			addCut(EnzymeRegistry.letterId(c));
+		} else if (c == '[' && !previousCut) {
+			nameLength = 0;
+		} else {
+			valid = false;
+		}
+		if (position > Integer.MAX_VALUE) {
+			valid = false;
+		}
+		previous = c;
+	}
+
+	/**
+	 * Add one more character of an enzyme name between square brackets, making the cut once the name is closed;
+	 * only names longer than one letter are turned into a String, and only once per cut
+	 */
+	private void addNameChar(char c) {
+		if (c == ']') {
+			String enzymeName = new String(name, 0, nameLength);
+			nameLength = -1;
+			if (EnzymeRegistry.isValidName(enzymeName)) {
+				addCut(EnzymeRegistry.id(enzymeName));
+			} else {
+				valid = false;
+			}
+			return;
+		}
+		if (nameLength == name.length) {
+			name = Arrays.copyOf(name, 2*nameLength);
+		}
+		name[nameLength++] = c;
+	}
+
+	/**
+	 * Make a cut at the current position
+	 * @param id	the EnzymeRegistry id of the enzyme that made the cut
+	 */
+	private void addCut(int id) {
+		if (numCuts == cuts.length) {
+			cuts = Arrays.copyOf(cuts, 2*numCuts);
+			cutEnzymes = Arrays.copyOf(cutEnzymes, 2*numCuts);
+		}
+		cuts[numCuts] = (int) position;
+		cutEnzymes[numCuts] = enzymes.add(id);
+		numCuts++;
+		previousCut = true;
+	}
+
+	/**
+	 * @return	the DNA segment on the current line, which ends with its last character
+	 */
+	private DNA endLine() {
+		boolean circular = closed;
+		if (circular) {
+			valid = valid && ((first >= 'A' && first <= 'Z') || first == '[');
+		} else {
+			valid = valid && first == '-' && previous == '-';
+		}
+		valid = valid && nameLength < 0 && length >= 3 && numCuts > 0;
+		String[] names = enzymes.getNames();
+		int[] lineCuts = valid ? Arrays.copyOf(cuts, numCuts) : null;
+		int[] lineCutEnzymes = valid ? Arrays.copyOf(cutEnzymes, numCuts) : null;
+		if (circular) {
+			return new CircularDNA((int) position, lineCuts, lineCutEnzymes, names);
+		}
+		return new LinearDNA((int) position, lineCuts, lineCutEnzymes, names);
+	}
+
+	/**
+	 * @return	the buffer holding the next bytes of input, which only has none remaining at the end of the input
+	 */
+	private ByteBuffer buffer() throws IOException {
+		while ((buffer == null || !buffer.hasRemaining()) && !endOfInput) {
+			if (file != null) {
+				long size = Math.min(MAPPED_WINDOW, file.size() - mapped);
+				if (size <= 0) {
+					endOfInput = true;
+				} else {
+					buffer = file.map(FileChannel.MapMode.READ_ONLY, mapped, size);
+					mapped += size;
+				}
+			} else {
+				buffer.clear();
+				endOfInput = channel.read(buffer) < 0;
+				buffer.flip();
+			}
+		}
+		if (buffer == null) {
+			buffer = ByteBuffer.allocate(0);
+		}
+		return buffer;
+	}
+}
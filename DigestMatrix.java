@@ -0,0 +1,159 @@
+import java.util.Arrays;
+
+public class DigestMatrix {
+	public static final int MAX_ENZYMES = 16;
+
+	private int lengthDNA;
+	private Enzyme[] enzymes;
+	private int[] numCuts;
+	private Track[] tracks;
+
+	/**
+	 * Create DigestMatrix object holding the fragments produced when every subset of a DNA segment's enzymes is applied to it,
+	 * 2^k - 1 tracks for k enzymes, all found in a single pass over its cuts:
+	 * a subset is a bitmask of enzyme indices, and for every subset the positions of its first and last cut so far are kept,
+	 * so each cut closes one fragment in every subset that holds its enzyme, and only those are touched,
+	 * instead of building a DNA segment without the other enzymes' cuts and an Electrophoresis for each subset;
+	 * since the number of fragments of each subset is known from the number of cuts of each enzyme,
+	 * they are written into one array, and each subset's fragments are sorted and added to its track a band at a time at the end,
+	 * which takes memory for about 2^(k-1) times as many fragments as the segment has cuts
+	 * @param dna	a DNA object
+	 * 				dna.isValid()
+	 * 				dna.getEnzymes().length <= MAX_ENZYMES
+	 */
+	public DigestMatrix(DNA dna) {
+		if (!dna.isValid() || dna.getEnzymes().length > MAX_ENZYMES) {
+			return;
+		}
+		lengthDNA = dna.getLengthDNA();
+		enzymes = dna.getEnzymes();
+		boolean circular = dna instanceof CircularDNA;
+		int[] cuts = dna.getCuts();
+		short[] cutEnzymes = dna.getCutEnzymes();
+		numCuts = new int[enzymes.length];
+		for (short enzyme : cutEnzymes) {
+			numCuts[enzyme]++;
+		}
+
+		int full = (1 << enzymes.length) - 1;
+		int[] start = new int[full + 2];
+		for (int mask = 1; mask <= full; mask++) {
+			int fragments = circular ? 0 : 1;
+			for (int i = 0; i < enzymes.length; i++) {
+				if ((mask & (1 << i)) != 0) {
+					fragments += numCuts[i];
+				}
+			}
+			start[mask + 1] = start[mask] + Math.max(fragments, 1);
+		}
+		int[] fragments = new int[start[full + 1]];
+		int[] end = start.clone();
+		int[] first = new int[full + 1];
+		int[] last = new int[full + 1];
+		Arrays.fill(first, -1);
+		for (int i = 0; i < cuts.length; i++) {
+			int bit = 1 << cutEnzymes[i];
+			int rest = full & ~bit;
+			for (int sub = rest; ; sub = (sub - 1) & rest) {
+				int mask = sub | bit;
+				if (first[mask] < 0) {
+					first[mask] = cuts[i];
+					if (!circular) {
+						fragments[end[mask]++] = cuts[i];
+					}
+				} else {
+					fragments[end[mask]++] = cuts[i] - last[mask];
+				}
+				last[mask] = cuts[i];
+				if (sub == 0) {
+					break;
+				}
+			}
+		}
+
+		tracks = new Track[full + 1];
+		for (int mask = 1; mask <= full; mask++) {
+			fragments[end[mask]++] = lengthDNA - last[mask] + ((circular && first[mask] > 0) ? first[mask] : 0);
+			Arrays.sort(fragments, start[mask], end[mask]);
+			tracks[mask] = new Track();
+			for (int i = start[mask], j = i; i < end[mask]; i = j) {
+				while (j < end[mask] && fragments[j] == fragments[i]) {
+					j++;
+				}
+				if (fragments[i] > 0) {
+					tracks[mask].add(fragments[i], j - i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return	true if this DigestMatrix object holds a track for every subset of enzymes; false otherwise
+	 */
+	public boolean isValid() { return tracks != null; }
+
+	/**
+	 * @return	an array of the Enzymes of the DNA segment, whose indices are the bits of a subset
+	 */
+	public Enzyme[] getEnzymes() { return enzymes; }
+
+	/**
+	 * @return	an integer representing the number of subsets of enzymes, not counting the empty one
+	 */
+	public int getNumSubsets() { return tracks.length - 1; }
+
+	/**
+	 * @param mask	a subset of enzymes, where bit i is set if enzyme i is in it
+	 * 				mask in [1, 2^getEnzymes().length)
+	 * @return		the Track holding the fragments produced when the enzymes in mask are simultaneously applied to the DNA segment
+	 */
+	public Track getTrack(int mask) { return tracks[mask]; }
+
+	/**
+	 * @param mask	a subset of enzymes, where bit i is set if enzyme i is in it
+	 * 				mask in [1, 2^getEnzymes().length)
+	 * @return		the Electrophoresis that would be produced by applying only the enzymes in mask to the DNA segment,
+	 * 				built around the tracks of this object rather than from a new DNA segment
+	 */
+	public Electrophoresis getEle(int mask) {
+		int size = Integer.bitCount(mask);
+		Enzyme[] subset = new Enzyme[size];
+		Track[] subsetTracks = new Track[(size > 1) ? size + 1 : 1];
+		int n = 0;
+		for (int i = 0; i < enzymes.length; i++) {
+			if ((mask & (1 << i)) != 0) {
+				subset[n] = new Enzyme(enzymes[i].getName(), numCuts[i]);
+				subsetTracks[n++] = tracks[1 << i];
+			}
+		}
+		if (size > 1) {
+			subsetTracks[size] = tracks[mask];
+		}
+		return new Electrophoresis(lengthDNA, subset, subsetTracks);
+	}
+
+	/**
+	 * @param mask	a subset of enzymes, where bit i is set if enzyme i is in it
+	 * @return		the names of the enzymes in mask, joined with " + "
+	 */
+	public String getName(int mask) {
+		StringBuilder res = new StringBuilder();
+		for (int i = 0; i < enzymes.length; i++) {
+			if ((mask & (1 << i)) != 0) {
+				res.append((res.length() > 0) ? " + " : "").append(enzymes[i].getName());
+			}
+		}
+		return res.toString();
+	}
+
+	public String toString() {
+		if (!isValid()) {
+			return "Digest Matrix: Invalid";
+		}
+		StringBuilder res = new StringBuilder("Digest Matrix: ");
+		for (int mask = 1; mask < tracks.length; mask++) {
+			res.append("\n\t").append(getName(mask)).append(": ").append(Arrays.toString(tracks[mask].getFragmentSizes()));
+		}
+		return res.toString();
+	}
+}
@@ -0,0 +1,530 @@
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Plans diagnostic digests: given a library of candidate DNA maps, finds the combinations of enzymes whose electrophoreses tell the most maps apart.
+ * Every map's electrophoresis for a combination is reduced to a 64-bit band fingerprint: each band is put in a bin of the gel's resolution,
+ * a lane is hashed as the sum of the hashes of its bins, so its fragments never need sorting, and the lanes are hashed in order;
+ * the lanes of single enzymes are hashed once per map, so only the lane for all enzymes of a combination is worked out for each combination.
+ * A map is identified by a combination if no other map in the library has the same fingerprint.
+ */
+
+public class DigestPlanner {
+	public static final int MAX_ENZYMES = 64;
+	public static final int MAX_BIN_TABLE = 1 << 24;
+	public static final int MIN_SPLIT_COMBINATIONS = 4;
+	public static final int CHECK_EVERY_MAPS = 1024;
+
+	private static final long[][] CHOOSE = new long[MAX_ENZYMES + 1][MAX_ENZYMES + 1];
+
+	private int numMaps;
+	private String[] enzymeNames;
+	private int[] lengths;
+	private boolean[] circular;
+	private int[] cutStart;
+	private int[] cutPositions;
+	private int maxCuts;
+	private long[] laneHashes;
+	private double resolution;
+	private int[] bins;
+	private long candidates;
+	private ThreadLocal<FingerprintTable> tables;
+
+	static {
+		for (int n = 0; n <= MAX_ENZYMES; n++) {
+			CHOOSE[n][0] = 1;
+			for (int k = 1; k <= n; k++) {
+				CHOOSE[n][k] = CHOOSE[n-1][k-1] + CHOOSE[n-1][k];
+			}
+		}
+	}
+
+	/**
+	 * Create DigestPlanner object for a library of DNA maps, hashing the lane of every enzyme on every map once;
+	 * enzymes are told apart by name, so the same enzyme may have a different index in every map,
+	 * and a map that an enzyme does not cut shows a single band of its whole length for it;
+	 * @param library		an array of DNA objects, the candidate maps
+	 * 						library.length > 0
+	 * 						library[i].isValid() for i in [0, library.length)
+	 * @param resolution	the relative difference in size below which two bands cannot be told apart on a gel, such as 0.05 for 5%;
+	 * 						bands are binned on a logarithmic scale in steps of 1 + resolution, or by exact size if resolution is 0
+	 * 						resolution >= 0
+	 * @throws IllegalArgumentException	if the library has more than MAX_ENZYMES different enzymes, since a combination is a bitmask of them
+	 */
+	public DigestPlanner(DNA[] library, double resolution) {
+		this.resolution = resolution;
+		numMaps = library.length;
+		EnzymeIndex enzymes = new EnzymeIndex();
+		int totalCuts = 0;
+		int maxLength = 0;
+		for (DNA dna : library) {
+			for (Enzyme enzyme : dna.getEnzymes()) {
+				enzymes.add(enzyme.getId());
+			}
+			totalCuts += dna.getCuts().length;
+			maxLength = Math.max(maxLength, dna.getLengthDNA());
+		}
+		enzymeNames = enzymes.getNames();
+		if (enzymeNames.length > MAX_ENZYMES) {
+			throw new IllegalArgumentException("The library has " + enzymeNames.length + " enzymes, more than the " + MAX_ENZYMES
+					+ " that can be planned with; the first that does not fit is " + enzymeNames[MAX_ENZYMES]);
+		}
+		if (maxLength <= MAX_BIN_TABLE) {
+			bins = new int[maxLength + 1];
+			for (int size = 1; size <= maxLength; size++) {
+				bins[size] = computeBin(size);
+			}
+		}
+
+		int numEnzymes = enzymeNames.length;
+		lengths = new int[numMaps];
+		circular = new boolean[numMaps];
+		cutStart = new int[numEnzymes * numMaps + 1];
+		cutPositions = new int[totalCuts];
+		int[][] index = new int[numMaps][];
+		for (int m = 0; m < numMaps; m++) {
+			DNA dna = library[m];
+			lengths[m] = dna.getLengthDNA();
+			circular[m] = dna instanceof CircularDNA;
+			index[m] = new int[dna.getEnzymes().length];
+			for (int i = 0; i < index[m].length; i++) {
+				index[m][i] = enzymes.indexOf(dna.getEnzymes()[i].getId());
+			}
+			int numCuts = 0;
+			for (short enzyme : dna.getCutEnzymes()) {
+				cutStart[index[m][enzyme] * numMaps + m + 1]++;
+				numCuts++;
+			}
+			maxCuts = Math.max(maxCuts, numCuts);
+		}
+		for (int e = 0; e < numEnzymes; e++) {
+			for (int m = 0; m < numMaps; m++) {
+				if (cutStart[e * numMaps + m + 1] > 0) {
+					candidates |= 1L << e;
+				}
+				cutStart[e * numMaps + m + 1] += cutStart[e * numMaps + m];
+			}
+		}
+		int[] end = Arrays.copyOf(cutStart, cutStart.length);
+		for (int m = 0; m < numMaps; m++) {
+			DNA dna = library[m];
+			for (int i = 0; i < dna.getCuts().length; i++) {
+				cutPositions[end[index[m][dna.getCutEnzymes()[i]] * numMaps + m]++] = dna.getCuts()[i];
+			}
+		}
+
+		laneHashes = new long[numMaps * numEnzymes];
+		int[] positions = new int[maxCuts];
+		for (int m = 0; m < numMaps; m++) {
+			for (int e = 0; e < numEnzymes; e++) {
+				laneHashes[e * numMaps + m] = laneHash(m, 1L << e, positions);
+			}
+		}
+		removeDuplicates();
+		tables = ThreadLocal.withInitial(() -> new FingerprintTable(numMaps, maxCuts));
+	}
+
+	/**
+	 * @return	an array of Strings holding the name of every enzyme in the library, whose indices are the bits of a combination
+	 */
+	public String[] getEnzymeNames() { return enzymeNames; }
+
+	/**
+	 * @return	a bitmask of the enzymes that combinations are made of: those that cut at least one map,
+	 * 			leaving out any enzyme that cuts every map exactly where an enzyme before it does, such as an isoschizomer, since it can never do better
+	 */
+	public long getCandidates() { return candidates; }
+
+	/**
+	 * Find the best combinations of up to maxEnzymes enzymes, evaluating them on pool;
+	 * single enzymes are evaluated first, and larger combinations are then generated one size at a time while they are evaluated, never all at once,
+	 * in the order of the ranks of their enzymes as single enzymes, so that good combinations are found early
+	 * and every other combination is given up on as soon as so many maps share fingerprints that it can no longer make it into the best ones;
+	 * once even the worst of the best ones identifies every map with fewer enzymes, no larger combination can beat it, so none is generated;
+	 * the result does not depend on the order combinations are evaluated in
+	 * @param maxEnzymes	the largest number of enzymes in a combination
+	 * 						maxEnzymes > 0
+	 * @param best			the number of combinations to return
+	 * 						best > 0
+	 * @param pool			a ForkJoinPool to evaluate the combinations on
+	 * 						pool != null
+	 * @return				an array of the best combinations found, best first:
+	 * 						most maps identified, then most distinct fingerprints, then fewest enzymes
+	 */
+	public Plan[] plan(int maxEnzymes, int best, ForkJoinPool pool) {
+		Ranking ranking = new Ranking(best);
+		int[] enzymes = new int[Long.bitCount(candidates)];
+		for (int i = 0, e = 0; e < enzymeNames.length; e++) {
+			if ((candidates & (1L << e)) != 0) {
+				enzymes[i++] = e;
+			}
+		}
+		Ranking singleRanking = new Ranking(Math.max(enzymes.length, 1));
+		pool.invoke(new PlanTask(enzymes, 1, 0, enzymes.length, singleRanking));
+		Plan[] singles = singleRanking.toArray();
+		for (int i = 0; i < singles.length; i++) {
+			ranking.offer(singles[i]);
+			enzymes[i] = Long.numberOfTrailingZeros(singles[i].mask);
+		}
+		for (int size = 2; size <= Math.min(maxEnzymes, enzymes.length) && !ranking.closed(numMaps, size); size++) {
+			pool.invoke(new PlanTask(enzymes, size, 0, CHOOSE[enzymes.length][size], ranking));
+		}
+		return ranking.toArray();
+	}
+
+	/**
+	 * Count the maps a combination identifies
+	 * @param mask		a combination of enzymes, where bit i is set if enzyme i is in it
+	 * @param ranking	the best combinations so far
+	 * @return			the Plan for mask; null if it was given up on because it cannot make it into ranking
+	 */
+	private Plan evaluate(long mask, Ranking ranking) {
+		FingerprintTable table = tables.get();
+		table.clear();
+		int shared = 0;
+		for (int m = 0; m < numMaps; m++) {
+			int count = table.add(fingerprint(m, mask, table.positions));
+			if (count == 2) {
+				shared += 2;
+			} else if (count > 2) {
+				shared++;
+			}
+			if (m % CHECK_EVERY_MAPS == 0 && numMaps - shared < ranking.threshold()) {
+				return null;
+			}
+		}
+		return new Plan(mask, numMaps - shared, table.size(), names(mask));
+	}
+
+	/**
+	 * @return	the fingerprint of the electrophoresis of map m for the enzymes in mask: the lane of each enzyme in turn, and the lane for all of them if there is more than one
+	 */
+	private long fingerprint(int m, long mask, int[] positions) {
+		long res = 0;
+		for (long rest = mask; rest != 0; rest &= rest - 1) {
+			res = res * 0x9E3779B97F4A7C15L + laneHashes[Long.numberOfTrailingZeros(rest) * numMaps + m];
+		}
+		if (Long.bitCount(mask) > 1) {
+			res = res * 0x9E3779B97F4A7C15L + laneHash(m, mask, positions);
+		}
+		return mix(res);
+	}
+
+	/**
+	 * @return	the hash of the lane of map m when the enzymes in mask are simultaneously applied to it: the sum of the hashes of the bins of its bands;
+	 * 			the cuts are kept grouped by enzyme and then by map, so only the cuts of the enzymes in mask are merged into positions
+	 */
+	private long laneHash(int m, long mask, int[] positions) {
+		int n = 0;
+		for (long rest = mask; rest != 0; rest &= rest - 1) {
+			int e = Long.numberOfTrailingZeros(rest) * numMaps + m;
+			int i = n - 1;
+			int j = cutStart[e + 1] - 1;
+			n += cutStart[e + 1] - cutStart[e];
+			for (int k = n - 1; j >= cutStart[e]; k--) {
+				positions[k] = (i >= 0 && positions[i] > cutPositions[j]) ? positions[i--] : cutPositions[j--];
+			}
+		}
+		if (n == 0) {
+			return bandHash(lengths[m]);
+		}
+		long res = circular[m] ? 0 : bandHash(positions[0]);
+		for (int i = 1; i < n; i++) {
+			res += bandHash(positions[i] - positions[i - 1]);
+		}
+		return res + bandHash(lengths[m] - positions[n - 1] + (circular[m] ? positions[0] : 0));
+	}
+
+	private long bandHash(int size) {
+		if (size <= 0) {
+			return 0;
+		}
+		return mix(((bins != null) ? bins[size] : computeBin(size)) + 0x9E3779B97F4A7C15L);
+	}
+
+	private int computeBin(int size) {
+		if (resolution == 0) {
+			return size;
+		}
+		return (int) Math.floor(Math.log(size) / Math.log1p(resolution));
+	}
+
+	/**
+	 * Leave out of candidates every enzyme whose lane is the same as that of an enzyme before it on every map, comparing cut positions
+	 */
+	private void removeDuplicates() {
+		for (int e = 0; e < enzymeNames.length; e++) {
+			for (int f = 0; f < e && (candidates & (1L << e)) != 0; f++) {
+				if ((candidates & (1L << f)) != 0 && sameCuts(e, f)) {
+					candidates &= ~(1L << e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return	true if enzymes e and f cut every map at the same positions; false otherwise
+	 */
+	private boolean sameCuts(int e, int f) {
+		for (int m = 0; m < numMaps; m++) {
+			if (laneHashes[e * numMaps + m] != laneHashes[f * numMaps + m]) {
+				return false;
+			}
+		}
+		for (int m = 0; m < numMaps; m++) {
+			int i = e * numMaps + m;
+			int j = f * numMaps + m;
+			if (cutStart[i + 1] - cutStart[i] != cutStart[j + 1] - cutStart[j]) {
+				return false;
+			}
+			for (int k = 0; k < cutStart[i + 1] - cutStart[i]; k++) {
+				if (cutPositions[cutStart[i] + k] != cutPositions[cutStart[j] + k]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private String[] names(long mask) {
+		String[] res = new String[Long.bitCount(mask)];
+		int n = 0;
+		for (long rest = mask; rest != 0; rest &= rest - 1) {
+			res[n++] = enzymeNames[Long.numberOfTrailingZeros(rest)];
+		}
+		return res;
+	}
+
+	private static long mix(long x) {
+		x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+		x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+		return x ^ (x >>> 31);
+	}
+
+	public static class Plan implements Comparable<Plan> {
+		private long mask;
+		private int identified;
+		private int patterns;
+		private String[] enzymeNames;
+
+		private Plan(long mask, int identified, int patterns, String[] enzymeNames) {
+			this.mask = mask;
+			this.identified = identified;
+			this.patterns = patterns;
+			this.enzymeNames = enzymeNames;
+		}
+
+		/**
+		 * @return	an array of Strings holding the names of the enzymes in this combination
+		 */
+		public String[] getEnzymeNames() { return enzymeNames; }
+
+		/**
+		 * @return	an integer representing the number of maps whose fingerprint no other map in the library shares
+		 */
+		public int getIdentified() { return identified; }
+
+		/**
+		 * @return	an integer representing the number of distinct fingerprints over the library
+		 */
+		public int getPatterns() { return patterns; }
+
+		/**
+		 * @return	a negative integer if this combination is better than plan, a positive integer if it is worse;
+		 * 			combinations with the same score are ordered by their enzymes, so the order never depends on timing
+		 */
+		public int compareTo(Plan plan) {
+			if (identified != plan.identified) {
+				return Integer.compare(plan.identified, identified);
+			}
+			if (patterns != plan.patterns) {
+				return Integer.compare(plan.patterns, patterns);
+			}
+			if (enzymeNames.length != plan.enzymeNames.length) {
+				return Integer.compare(enzymeNames.length, plan.enzymeNames.length);
+			}
+			return Long.compareUnsigned(Long.reverse(plan.mask), Long.reverse(mask));
+		}
+
+		public String toString() {
+			return String.join(" + ", enzymeNames) + ": " + identified + " maps identified, " + patterns + " patterns";
+		}
+	}
+
+	/**
+	 * The best combinations found so far, kept with the worst of them first so it can be replaced
+	 */
+	private static class Ranking {
+		private int best;
+		private PriorityQueue<Plan> plans;
+		private volatile int threshold;
+		private volatile int thresholdEnzymes;
+
+		private Ranking(int best) {
+			this.best = best;
+			plans = new PriorityQueue<Plan>(best, (a, b) -> b.compareTo(a));
+		}
+
+		/**
+		 * @return	the number of maps the worst of the best combinations identifies once there are enough of them; 0 until then
+		 */
+		private int threshold() { return threshold; }
+
+		/**
+		 * @return	true if no combination of size enzymes can make it into the best ones:
+		 * 			there are enough of them, and even the worst identifies all numMaps maps with fewer enzymes
+		 */
+		private boolean closed(int numMaps, int size) {
+			return threshold == numMaps && thresholdEnzymes < size;
+		}
+
+		private synchronized void offer(Plan plan) {
+			if (plans.size() < best) {
+				plans.add(plan);
+			} else if (plan.compareTo(plans.peek()) < 0) {
+				plans.poll();
+				plans.add(plan);
+			}
+			if (plans.size() == best) {
+				thresholdEnzymes = plans.peek().enzymeNames.length;
+				threshold = plans.peek().identified;
+			}
+		}
+
+		private synchronized Plan[] toArray() {
+			Plan[] res = plans.toArray(new Plan[plans.size()]);
+			Arrays.sort(res);
+			return res;
+		}
+	}
+
+	/**
+	 * Evaluates a range of the combinations of size of the enzymes in a given order, numbered in lexicographic order of their positions in it,
+	 * splitting it in half while it is large enough; each part generates its own combinations, starting from the first one's number
+	 */
+	@SuppressWarnings("serial")
+	private class PlanTask extends RecursiveAction {
+		private int[] enzymes;
+		private int size;
+		private long from;
+		private long to;
+		private Ranking ranking;
+
+		private PlanTask(int[] enzymes, int size, long from, long to, Ranking ranking) {
+			this.enzymes = enzymes;
+			this.size = size;
+			this.from = from;
+			this.to = to;
+			this.ranking = ranking;
+		}
+
+		protected void compute() {
+			if (to - from > MIN_SPLIT_COMBINATIONS) {
+				long middle = (from + to) >>> 1;
+				invokeAll(new PlanTask(enzymes, size, from, middle, ranking), new PlanTask(enzymes, size, middle, to, ranking));
+				return;
+			}
+			if (from == to || ranking.closed(numMaps, size)) {
+				return;
+			}
+			int[] combination = combination(from);
+			for (long i = from; i < to; i++) {
+				long mask = 0;
+				for (int position : combination) {
+					mask |= 1L << enzymes[position];
+				}
+				Plan plan = evaluate(mask, ranking);
+				if (plan != null) {
+					ranking.offer(plan);
+				}
+				next(combination);
+			}
+		}
+
+		/**
+		 * @return	the positions in enzymes of the combination numbered number, in increasing order
+		 */
+		private int[] combination(long number) {
+			int[] res = new int[size];
+			for (int i = 0, position = 0; i < size; i++, position++) {
+				while (number >= CHOOSE[enzymes.length - position - 1][size - i - 1]) {
+					number -= CHOOSE[enzymes.length - position - 1][size - i - 1];
+					position++;
+				}
+				res[i] = position;
+			}
+			return res;
+		}
+
+		/**
+		 * Turn combination into the next one in lexicographic order, if there is one
+		 */
+		private void next(int[] combination) {
+			int i = size - 1;
+			while (i >= 0 && combination[i] == enzymes.length - size + i) {
+				i--;
+			}
+			if (i >= 0) {
+				combination[i]++;
+				for (int j = i + 1; j < size; j++) {
+					combination[j] = combination[j-1] + 1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Counts how many maps have each fingerprint, with open addressing, clearing only the slots that were used,
+	 * and holds the cut positions of a lane while it is hashed;
+	 * the lowest 2 bits of a slot hold its count, which stops at 3 since that is all evaluate needs, so counting a map touches a single array
+	 */
+	private static class FingerprintTable {
+		private long[] slots;
+		private int[] used;
+		private int size;
+		private int[] positions;
+
+		private FingerprintTable(int numMaps, int maxCuts) {
+			int capacity = Integer.highestOneBit(Math.max(numMaps, 1) * 2 - 1) << 1;
+			slots = new long[capacity];
+			used = new int[numMaps];
+			positions = new int[maxCuts];
+		}
+
+		/**
+		 * Count one more map with a fingerprint, telling it apart from others by all but its lowest 2 bits
+		 * @return	the number of maps with that fingerprint so far, or 3 if there are more
+		 */
+		private int add(long fingerprint) {
+			int mask = slots.length - 1;
+			int i = (int) (fingerprint >>> 32) & mask;
+			long key = fingerprint & ~3L;
+			while (slots[i] != 0 && (slots[i] & ~3L) != key) {
+				i = (i + 1) & mask;
+			}
+			if (slots[i] == 0) {
+				slots[i] = key | 1;
+				used[size++] = i;
+				return 1;
+			}
+			if ((slots[i] & 3) < 3) {
+				slots[i]++;
+			}
+			return (int) (slots[i] & 3);
+		}
+
+		/**
+		 * @return	the number of distinct fingerprints counted
+		 */
+		private int size() { return size; }
+
+		private void clear() {
+			for (int i = 0; i < size; i++) {
+				slots[used[i]] = 0;
+			}
+			size = 0;
+		}
+	}
+}
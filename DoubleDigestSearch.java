@@ -0,0 +1,446 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class DoubleDigestSearch {
+	private int lengthDNA;
+	private boolean circular;
+	private int numCuts;
+	private int[] sizes;
+	private int[] counts;
+	private int[][] enzymeSizes;
+	private int[][] enzymeCounts;
+	private int[] enzymeRemaining;
+	private int[] first;
+	private int[] last;
+	private int[] pos;
+	private int[] sizeChoice;
+	private int[] enzymeChoice;
+	private int[] consumed;
+	private int[] prevLast;
+	private int reserved;
+	private int depth;
+	private int floor;
+	private boolean started;
+	private boolean exhausted;
+	private AtomicBoolean stop;
+	private long tested;
+	private long rejected;
+	private long verified;
+	private long[] comparisons = new long[1];
+
+	/**
+	 * Create DoubleDigestSearch object that places the fragments of allEnzymesTrack from left to right,
+	 * assigning every cut between them to an enzyme, and backtracks as soon as the fragments of an enzyme can no longer be matched;
+	 * only one arrangement is searched for each group of arrangements that produce the same electrophoresis by symmetry:
+	 * a linear arrangement is only kept if it is not greater than its reverse,
+	 * and a circular arrangement is only kept if it is the least of its rotations
+	 * @param lengthDNA			an integer representing the number of kilobases in the DNA segment
+	 * 							lengthDNA > 0
+	 * @param circular			true if the DNA segment is circular; false if it is linear
+	 * @param allEnzymesTrack	an array of integers representing the length of fragments produced when all enzymes are simultaneously applied to the DNA segment
+	 * 							allEnzymesTrack.length > 0
+	 * @param enzymeTracks		an array holding, for each enzyme, an array of the length of fragments produced when that enzyme is individually applied to the DNA segment
+	 * 							enzymeTracks.length > 0
+	 */
+	public DoubleDigestSearch(int lengthDNA, boolean circular, int[] allEnzymesTrack, int[][] enzymeTracks) {
+		this.lengthDNA = lengthDNA;
+		this.circular = circular;
+		numCuts = circular ? allEnzymesTrack.length : allEnzymesTrack.length - 1;
+		sizes = distinct(allEnzymesTrack);
+		counts = count(allEnzymesTrack, sizes);
+
+		enzymeSizes = new int[enzymeTracks.length][];
+		enzymeCounts = new int[enzymeTracks.length][];
+		enzymeRemaining = new int[enzymeTracks.length];
+		first = new int[enzymeTracks.length];
+		last = new int[enzymeTracks.length];
+		for (int i = 0; i < enzymeTracks.length; i++) {
+			enzymeSizes[i] = distinct(enzymeTracks[i]);
+			enzymeCounts[i] = count(enzymeTracks[i], enzymeSizes[i]);
+			enzymeRemaining[i] = enzymeTracks[i].length;
+			first[i] = -1;
+			if (sum(enzymeTracks[i]) != lengthDNA) {
+				exhausted = true;
+			}
+		}
+		int enzymeCuts = 0;
+		for (int[] enzymeTrack : enzymeTracks) {
+			enzymeCuts += circular ? enzymeTrack.length : enzymeTrack.length - 1;
+		}
+		if (sum(allEnzymesTrack) != lengthDNA || numCuts <= 0 || enzymeCuts != numCuts) {
+			exhausted = true;
+		}
+
+		pos = new int[Math.max(numCuts, 0)];
+		sizeChoice = new int[pos.length];
+		enzymeChoice = new int[pos.length];
+		consumed = new int[pos.length];
+		prevLast = new int[pos.length];
+	}
+
+	/**
+	 * Create DoubleDigestSearch object that only searches the subtree below the cuts search has already placed
+	 * @param search	a DoubleDigestSearch object
+	 * 					search != null
+	 */
+	private DoubleDigestSearch(DoubleDigestSearch search) {
+		lengthDNA = search.lengthDNA;
+		circular = search.circular;
+		numCuts = search.numCuts;
+		sizes = search.sizes;
+		counts = search.counts.clone();
+		enzymeSizes = search.enzymeSizes;
+		enzymeCounts = new int[search.enzymeCounts.length][];
+		for (int i = 0; i < enzymeCounts.length; i++) {
+			enzymeCounts[i] = search.enzymeCounts[i].clone();
+		}
+		enzymeRemaining = search.enzymeRemaining.clone();
+		first = search.first.clone();
+		last = search.last.clone();
+		pos = search.pos.clone();
+		sizeChoice = search.sizeChoice.clone();
+		enzymeChoice = search.enzymeChoice.clone();
+		consumed = search.consumed.clone();
+		prevLast = search.prevLast.clone();
+		reserved = search.reserved;
+		depth = search.depth;
+		floor = search.depth;
+		exhausted = search.exhausted;
+		stop = search.stop;
+	}
+	
+	/**
+	 * @return	an array of integers, where each integer represents the position, in kilobases from the left end, of a cut found by the last successful call to next()
+	 * 			getCuts()[i] < getCuts()[i+1] for i in [0, getCuts().length-1)
+	 */
+	public int[] getCuts() { return pos.clone(); }
+
+	/**
+	 * @return	an array of integers, where each integer represents the index of the enzyme that made the corresponding cut in getCuts()
+	 */
+	public int[] getCutEnzymes() { return enzymeChoice.clone(); }
+
+	/**
+	 * @return	an integer representing the number of cuts that are fixed for this search
+	 */
+	public int getDepth() { return depth; }
+	
+	/**
+	 * @return	an integer representing the number of cuts that still have to be placed by this search
+	 */
+	public int getRemainingCuts() { return numCuts - depth; }
+	
+	/**
+	 * @param stop	a flag shared between searches; once it is set, next() gives up and returns false
+	 */
+	public void setStop(AtomicBoolean stop) { this.stop = stop; }
+	
+	/**
+	 * Split the remaining search into independent searches, one for each valid way of placing the next cut
+	 * @return	an ArrayList of DoubleDigestSearch objects that together search exactly the arrangements this search would;
+	 * 			empty if no cut can be placed
+	 */
+	public ArrayList<DoubleDigestSearch> split() {
+		ArrayList<DoubleDigestSearch> res = new ArrayList<DoubleDigestSearch>();
+		if (exhausted || started) {
+			return res;
+		}
+		if (depth == numCuts) {
+			res.add(new DoubleDigestSearch(this));
+			return res;
+		}
+		int k = depth;
+		int s = 0;
+		int e = 0;
+		while (place(k, s, e)) {
+			depth++;
+			res.add(new DoubleDigestSearch(this));
+			depth--;
+			undo(k);
+			s = sizeChoice[k];
+			e = enzymeChoice[k] + 1;
+		}
+		return res;
+	}
+	
+	/**
+	 * Search for the next arrangement of cuts consistent with every track
+	 * @return	true if an arrangement was found and can be read with getCuts() and getCutEnzymes(); false if there are no more arrangements
+	 */
+	public boolean next() {
+		if (!Instrumentation.ENABLED) {
+			return advance();
+		}
+		Instrumentation.SearchEvent event = Instrumentation.beginSearch();
+		boolean res = advance();
+		Instrumentation.endSearch(event, circular, res, tested, rejected, verified, comparisons[0]);
+		tested = 0;
+		rejected = 0;
+		verified = 0;
+		comparisons[0] = 0;
+		return res;
+	}
+
+	private boolean advance() {
+		if (exhausted) {
+			return false;
+		}
+		int s = 0;
+		int e = 0;
+		if (started) {
+			if (depth == floor) {
+				exhausted = true;
+				return false;
+			}
+			depth--;
+			undo(depth);
+			s = sizeChoice[depth];
+			e = enzymeChoice[depth] + 1;
+		}
+		started = true;
+
+		while (true) {
+			if (stop != null && stop.get()) {
+				return false;
+			}
+			if (depth == numCuts) {
+				if (Instrumentation.ENABLED) {
+					verified++;
+				}
+				if (isComplete()) {
+					return true;
+				}
+			} else if (place(depth, s, e)) {
+				depth++;
+				s = 0;
+				e = 0;
+				continue;
+			}
+			if (depth == floor) {
+				exhausted = true;
+				return false;
+			}
+			depth--;
+			undo(depth);
+			s = sizeChoice[depth];
+			e = enzymeChoice[depth] + 1;
+		}
+	}
+
+	/**
+	 * Place the first valid cut at index k, trying fragment sizes from s and enzymes from e onwards
+	 * @return	true if a cut was placed; false if no remaining choice is valid
+	 */
+	private boolean place(int k, int s, int e) {
+		if (!circular && k == 0) {
+			return placeFirst(s, e);
+		}
+		if (circular && k == 0) {
+			for (; e < enzymeSizes.length; e++) {
+				if (apply(k, 0, e, 0, -1)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		int end = (circular && k == 1) ? 1 : sizes.length;
+		int limit = circular ? lengthDNA - 1 : lengthDNA - sizes[reserved];
+		for (; s < end; s++, e = 0) {
+			if (counts[s] == 0) {
+				continue;
+			}
+			int cut = pos[k-1] + sizes[s];
+			if (cut > limit) {
+				break;
+			}
+			for (; e < enzymeSizes.length; e++) {
+				if (apply(k, s, e, cut, s)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Place the first cut of a linear segment, together with the fragment reserved for its right end,
+	 * so that the fragment at its left end is never larger than the one at its right end;
+	 * the pair of fragments tried is encoded as p = left * sizes.length + right
+	 * @return	true if a cut was placed; false if no remaining choice is valid
+	 */
+	private boolean placeFirst(int p, int e) {
+		for (; p < sizes.length * sizes.length; p++, e = 0) {
+			int left = p / sizes.length;
+			int right = p % sizes.length;
+			if (sizes[left] > sizes[right] || counts[left] == 0 || counts[right] < ((left == right) ? 2 : 1)) {
+				continue;
+			}
+			counts[right]--;
+			reserved = right;
+			for (; e < enzymeSizes.length; e++) {
+				if (apply(0, p, e, sizes[left], left)) {
+					return true;
+				}
+			}
+			counts[right]++;
+		}
+		return false;
+	}
+
+	/**
+	 * Make cut k at the given position with enzyme e if the fragment it closes exists and no enzyme is left with an open fragment too long to match
+	 * @param choice	the choice to record for cut k, so that the search can resume from it
+	 * @param s			the index in sizes of the fragment placed before cut k, or -1 if no fragment is placed
+	 * @return			true if the cut was made; false otherwise
+	 */
+	private boolean apply(int k, int choice, int e, int cut, int s) {
+		if (Instrumentation.ENABLED) {
+			tested++;
+		}
+		int index = -1;
+		if (!circular || first[e] >= 0) {
+			index = Arrays.binarySearch(enzymeSizes[e], cut - last[e]);
+			if (index < 0 || enzymeCounts[e][index] == 0 || enzymeRemaining[e] == 1) {
+				return reject();
+			}
+		}
+		for (int f = 0; f < enzymeSizes.length; f++) {
+			if (f != e && maxRemaining(f) <= cut - last[f]) {
+				return reject();
+			}
+		}
+
+		if (s >= 0) {
+			counts[s]--;
+		}
+		if (index >= 0) {
+			enzymeCounts[e][index]--;
+			enzymeRemaining[e]--;
+		} else {
+			first[e] = cut;
+		}
+		prevLast[k] = last[e];
+		last[e] = cut;
+		pos[k] = cut;
+		sizeChoice[k] = choice;
+		enzymeChoice[k] = e;
+		consumed[k] = index;
+		return true;
+	}
+
+	private boolean reject() {
+		if (Instrumentation.ENABLED) {
+			rejected++;
+		}
+		return false;
+	}
+
+	/**
+	 * Undo cut k
+	 */
+	private void undo(int k) {
+		int e = enzymeChoice[k];
+		if (!circular && k == 0) {
+			counts[sizeChoice[k] / sizes.length]++;
+			counts[sizeChoice[k] % sizes.length]++;
+		} else if (!(circular && k == 0)) {
+			counts[sizeChoice[k]]++;
+		}
+		if (consumed[k] >= 0) {
+			enzymeCounts[e][consumed[k]]++;
+			enzymeRemaining[e]++;
+		} else {
+			first[e] = -1;
+		}
+		last[e] = prevLast[k];
+	}
+
+	/**
+	 * @return	true if the last fragment left for every enzyme is exactly the one that closes the DNA segment; false otherwise
+	 */
+	private boolean isComplete() {
+		for (int e = 0; e < enzymeSizes.length; e++) {
+			if (enzymeRemaining[e] != 1 || (circular && first[e] < 0)) {
+				return false;
+			}
+			int fragment = lengthDNA - last[e] + (circular ? first[e] : 0);
+			int index = Arrays.binarySearch(enzymeSizes[e], fragment);
+			if (index < 0 || enzymeCounts[e][index] == 0) {
+				return false;
+			}
+		}
+		return isCanonical();
+	}
+
+	/**
+	 * @return	true if the arrangement of cuts is the one kept for its group of symmetric arrangements; false otherwise;
+	 * 			a circular arrangement is kept if CyclicMatcher.leastRotation() starts it at its first cut
+	 */
+	private boolean isCanonical() {
+		if (!circular) {
+			for (int i = 0, j = 2*numCuts; i < j; i++, j--) {
+				int x = (i % 2 == 0) ? fragment(i / 2) : enzymeChoice[i / 2];
+				int y = (j % 2 == 0) ? fragment(j / 2) : enzymeChoice[j / 2];
+				if (x != y) {
+					return x < y;
+				}
+			}
+			return true;
+		}
+		int[] fragments = new int[numCuts];
+		for (int i = 0; i < numCuts; i++) {
+			fragments[i] = fragment(i);
+		}
+		return CyclicMatcher.leastRotation(fragments, enzymeChoice, Instrumentation.ENABLED ? comparisons : null) == 0;
+	}
+
+	/**
+	 * @param i	the index of a fragment produced when all enzymes are simultaneously applied, from the left end
+	 * @return	the size of that fragment in the current arrangement;
+	 * 			for a circular segment, fragment i starts at cut i
+	 */
+	private int fragment(int i) {
+		if (circular) {
+			return ((i == numCuts - 1) ? lengthDNA : pos[i+1]) - pos[i];
+		}
+		return ((i == numCuts) ? lengthDNA : pos[i]) - ((i == 0) ? 0 : pos[i-1]);
+	}
+
+	private int maxRemaining(int e) {
+		for (int i = enzymeSizes[e].length - 1; i >= 0; i--) {
+			if (enzymeCounts[e][i] > 0) {
+				return enzymeSizes[e][i];
+			}
+		}
+		return 0;
+	}
+
+	private static int[] distinct(int[] arr) {
+		int[] res = arr.clone();
+		Arrays.sort(res);
+		int n = 0;
+		for (int i = 0; i < res.length; i++) {
+			if (i == 0 || res[i] != res[i-1]) {
+				res[n++] = res[i];
+			}
+		}
+		return Arrays.copyOf(res, n);
+	}
+
+	private static int[] count(int[] arr, int[] distinct) {
+		int[] res = new int[distinct.length];
+		for (int a : arr) {
+			res[Arrays.binarySearch(distinct, a)]++;
+		}
+		return res;
+	}
+
+	private static int sum(int[] arr) {
+		int res = 0;
+		for (int a : arr) {
+			res += a;
+		}
+		return res;
+	}
+}
@@ -1,12 +1,17 @@
-import java.util.Collections;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 
 public class Electrophoresis {
+	public static final ReconstructionCache CACHE = new ReconstructionCache(1000);
+	
 	private DNA dna;
-	private int[][] tracks;
-	private int[] scale;
+	private Track[] tracks;
+	private int maxScale;
 	private int totalFragments;
 	private Enzyme[] enzymes;
 	private int[] allEnzymesTrack;
+	private ForkJoinPool pool;
+	private ReconstructionStrategy strategy;
 	
 	/**
 	 * Create Electrophoresis object based on given LinearDNA object
@@ -17,15 +22,39 @@ public class Electrophoresis {
 		if (!dna.isValid()) {
 			return;
 		}
+		Instrumentation.DigestEvent event = Instrumentation.ENABLED ? Instrumentation.beginDigest() : null;
 		this.dna = dna;
 		enzymes = dna.getEnzymes();
-		setScale(dna.getLengthDNA());
+		maxScale = dna.getLengthDNA();
 		setTracks();
 		setFragments();
+		if (Instrumentation.ENABLED) {
+			Instrumentation.endDigest(event, dna);
+		}
+	}
+	
+	/**
+	 * Create Electrophoresis object holding given tracks, such as copies of those a MutableDNA object keeps up to date;
+	 * the tracks are not copied, so they must not be changed afterwards, since the fragment counts of this object and its enzymes are set from them here;
+	 * getDNA() is null
+	 * @param maxScale	an integer representing the maximum number of kilobases on this Electrophoresis scale
+	 * 					maxScale >= 0
+	 * @param enzymes	an array of Enzymes used in this Electrophresis
+	 * 					enzymes.length > 0
+	 * @param tracks	an array holding the Track of each enzyme and, if there is more than one enzyme, the Track for all enzymes last
+	 * 					tracks.length == enzymes.length + (enzymes.length > 1 ? 1 : 0)
+	 */
+	public Electrophoresis(int maxScale, Enzyme[] enzymes, Track[] tracks) {
+		this.maxScale = maxScale;
+		this.enzymes = enzymes;
+		this.tracks = tracks;
+		setFragments();
 	}
 	
 	/**
-	 * Create Electrophoresis object based on user input
+	 * Create Electrophoresis object based on user input;
+	 * the DNA segment is looked up in CACHE first, so electrophoreses whose tracks hold the same fragments,
+	 * whatever the names or order of their enzymes, are only reconstructed once
 	 * @param maxScale			an integer representing the maximum number of kilobases on this Electrophoresis scale		
 	 * 							maxScale >= 0
 	 * @param enzymes			an array of Enzymes used in this Electrophresis
@@ -34,14 +63,93 @@ public class Electrophoresis {
 	 * 							allEnzymesTrack != null
 	 */
 	public Electrophoresis(int maxScale, Enzyme[] enzymes, int[] allEnzymesTrack) {
-		setScale(maxScale);
+		this(maxScale, enzymes, allEnzymesTrack, null);
+	}
+	
+	/**
+	 * Create Electrophoresis object based on user input, searching for the DNA segment in parallel
+	 * @param maxScale			an integer representing the maximum number of kilobases on this Electrophoresis scale		
+	 * 							maxScale >= 0
+	 * @param enzymes			an array of Enzymes used in this Electrophresis
+	 * 							enzymes != null
+	 * @param allEnzymesTrack	an array of integers representing the length of fragments produced when all enzymes are simultaneously applied to the DNA segment
+	 * 							allEnzymesTrack != null
+	 * @param pool				a ForkJoinPool to search for the DNA segment on, or null to search on the calling thread;
+	 * 							the DNA segment is looked up in CACHE first
+	 */
+	public Electrophoresis(int maxScale, Enzyme[] enzymes, int[] allEnzymesTrack, ForkJoinPool pool) {
+		this(maxScale, enzymes, allEnzymesTrack, pool, null);
+	}
+	
+	/**
+	 * Create Electrophoresis object based on user input, searching for the DNA segment with a given strategy;
+	 * CACHE is only used when strategy is null, since different strategies may find different DNA segments,
+	 * so a given strategy always searches and its result is not cached
+	 * @param maxScale			an integer representing the maximum number of kilobases on this Electrophoresis scale		
+	 * 							maxScale >= 0
+	 * @param enzymes			an array of Enzymes used in this Electrophresis
+	 * 							enzymes != null
+	 * @param allEnzymesTrack	an array of integers representing the length of fragments produced when all enzymes are simultaneously applied to the DNA segment
+	 * 							allEnzymesTrack != null
+	 * @param pool				a ForkJoinPool to search for the DNA segment on, or null to search on the calling thread
+	 * @param strategy			the ReconstructionStrategy to search with, or null to choose one from the estimated size of the search with ReconstructionStrategy.select()
+	 */
+	public Electrophoresis(int maxScale, Enzyme[] enzymes, int[] allEnzymesTrack, ForkJoinPool pool, ReconstructionStrategy strategy) {
+		Instrumentation.ReconstructionEvent event = Instrumentation.ENABLED ? Instrumentation.beginReconstruction() : null;
+		this.pool = pool;
+		this.strategy = strategy;
+		this.maxScale = maxScale;
 		this.enzymes = enzymes;
 		this.allEnzymesTrack = allEnzymesTrack;
 		setTracks();
 		setFragments();
-		dna = new LinearDNA(this);
+		int[] order = null;
+		String signature = null;
+		if (strategy == null) {
+			order = ReconstructionCache.order(this);
+			signature = ReconstructionCache.signature(this, order);
+			dna = CACHE.get(signature, this, order);
+		}
+		boolean cacheHit = dna != null;
+		if (dna == null) {
+			dna = new LinearDNA(this);
+			if (!dna.isValid()) {
+				dna = new CircularDNA(this);
+			}
+			if (strategy == null) {
+				CACHE.put(signature, dna, order);
+			}
+		}
+		if (Instrumentation.ENABLED) {
+			Instrumentation.endReconstruction(event, this, cacheHit);
+		}
+		if (!dna.isValid()) {
+			clearObject();
+		}
+	}
+	
+	/**
+	 * Create Electrophoresis object based on user input whose fragment sizes were measured with a relative error of up to tolerance;
+	 * the DNA segment found has exact fragment sizes that are each within tolerance of a measured one,
+	 * so its own electrophoresis, getDNA().getEle(), holds those exact sizes and may differ slightly from this one
+	 * @param maxScale			an integer representing the maximum number of kilobases on this Electrophoresis scale		
+	 * 							maxScale >= 0
+	 * @param enzymes			an array of Enzymes used in this Electrophresis
+	 * 							enzymes != null
+	 * @param allEnzymesTrack	an array of integers representing the length of fragments produced when all enzymes are simultaneously applied to the DNA segment
+	 * 							allEnzymesTrack != null
+	 * @param tolerance			the largest relative error of a measured fragment size, for example 0.05 for 5%
+	 * 							tolerance >= 0
+	 */
+	public Electrophoresis(int maxScale, Enzyme[] enzymes, int[] allEnzymesTrack, double tolerance) {
+		this.maxScale = maxScale;
+		this.enzymes = enzymes;
+		this.allEnzymesTrack = allEnzymesTrack;
+		setTracks();
+		setFragments();
+		dna = measuredDNA(false, tolerance);
 		if (!dna.isValid()) {
-			dna = new CircularDNA(this);
+			dna = measuredDNA(true, tolerance);
 		}
 		if (!dna.isValid()) {
 			clearObject();
@@ -54,20 +162,55 @@ public class Electrophoresis {
 	public DNA getDNA() { return dna; }
 	
 	/**
-	 * @return	a 2D array, where each column represents the fragments each corresponding enzyme made when individually applied to the DNA segment;
+	 * @return	a new 2D array built from getTrack(), where each column represents the fragments each corresponding enzyme made when individually applied to the DNA segment;
 	 * 			each column holds mainly 0s, but certain rows hold positive integers, 
 	 * 			representing the fact that when that enzyme was applied to the DNA segment, it created that many fragments of the corresponding length;
 	 * 			if moreThanOneEnzyme(), the last column represents the number of fragments created when all enzymes were simultaneously applied to the segment
 	 * 			getTracks.length > 0 && getTracks[0].length > 0
 	 * 			getTracks[r][c] >= 0 for r in [0, getTracks.length) and c in [0, getTracks[r].length)
 	 */
-	public int[][] getTracks() { return tracks; }
+	public int[][] getTracks() {
+		int[][] res = new int[maxScale][tracks.length];
+		for (int c = 0; c < tracks.length; c++) {
+			for (int size : tracks[c].getSizes()) {
+				if (size <= maxScale) {
+					res[size-1][c] = tracks[c].getCount(size);
+				}
+			}
+		}
+		return res;
+	}
+	
+	/**
+	 * @param i	the index of a track
+	 * 			i in [0, getNumTracks())
+	 * @return	the Track holding the fragments enzyme i made when individually applied to the DNA segment;
+	 * 			if moreThanOneEnzyme(), the last Track holds the fragments created when all enzymes were simultaneously applied to the segment
+	 */
+	public Track getTrack(int i) { return tracks[i]; }
+	
+	/**
+	 * @return	an integer representing the number of tracks in this Electrophoresis
+	 * 			if moreThanOneEnzyme(), getNumTracks() == enzymes.length + 1; else getNumTracks() == enzymes.length
+	 */
+	public int getNumTracks() { return tracks.length; }
 	
 	/**
-	 * @return	an array of all integers between 1 and dna.getLength(), inclusive
-	 * 			getScale.length = dna.getLength()
+	 * @return	an integer representing the maximum number of kilobases on this Electrophoresis scale
 	 */
-	public int[] getScale() { return scale; }
+	public int getMaxScale() { return maxScale; }
+	
+	/**
+	 * @return	a new array of all integers between 1 and getMaxScale(), inclusive
+	 * 			getScale.length = getMaxScale()
+	 */
+	public int[] getScale() {
+		int[] res = new int[maxScale];
+		for (int i = 0; i < res.length; i++) {
+			res[i] = i+1;
+		}
+		return res;
+	}
 	
 	/**
 	 * @return	an integer representing the total number fragments produced when all enzymes were simultaneously applied to the DNA segment
@@ -89,68 +232,59 @@ public class Electrophoresis {
 	 */
 	public int[] getAllEnzymesTrack() { return allEnzymesTrack; }
 	
+	/**
+	 * @return	the ForkJoinPool used to search for the DNA segment this Electrophoresis object was created from;
+	 * 			null if it was searched for on the calling thread
+	 */
+	public ForkJoinPool getPool() { return pool; }
+	
+	/**
+	 * @return	the ReconstructionStrategy used to search for the DNA segment this Electrophoresis object was created from;
+	 * 			null if it was chosen by ReconstructionStrategy.select()
+	 */
+	public ReconstructionStrategy getStrategy() { return strategy; }
+	
 	/**
 	 * @return	true if more than one enzyme was used in this electrophoresis; false otherwise
 	 */
 	public boolean moreThanOneEnzyme() { return enzymes.length > 1; }
-		
-	private void setScale(int max) {
-		scale = new int[max];
-		for (int i = 0; i < scale.length; i++) {
-			scale[i] = i+1;
-		}
-	}
+
 	
-	private void setEnzymeTrack(int[] track, String enzymeName) {
-		if (dna instanceof CircularDNA && Collections.frequency(dna.getDNA(), enzymeName) == 1) {
-			track[track.length-1] = 1;
-			return;
-		}
-		
-		int lengthFragment = 0;
-		for (Object o : dna.getDNA()) {
-			if (o instanceof Integer) {
-				lengthFragment += (int) o;
-			} else {
-				if (((String) o).equals(enzymeName) && lengthFragment > 0) {
-					track[lengthFragment-1]++;
-					lengthFragment = 0;
-				}
-			}
-		}
-				
-		if (lengthFragment > 0) {
-			int tmp = 0;
-			if (dna instanceof CircularDNA) {
-				for (Object o : dna.getDNA()) {
-					if (o instanceof Integer) {
-						tmp += (int) o;
-					} else if (((String) o).equals(enzymeName)) {
-						break;
+	/**
+	 * Add the fragments produced when a single enzyme, or all enzymes, are applied to the DNA segment to track
+	 * @param track		an array counting the fragments of each length
+	 * @param enzyme	the index in dna.getEnzymes() of the enzyme to apply, or -1 to apply all enzymes simultaneously
+	 */
+	private void setEnzymeTrack(Track track, int enzyme) {
+		int[] cuts = dna.getCuts();
+		short[] cutEnzymes = dna.getCutEnzymes();
+		boolean circular = dna instanceof CircularDNA;
+		int first = -1;
+		int previous = 0;
+		for (int i = 0; i < cuts.length; i++) {
+			if (enzyme < 0 || cutEnzymes[i] == enzyme) {
+				if (first < 0) {
+					first = cuts[i];
+					if (!circular) {
+						addFragment(track, cuts[i]);
 					}
+				} else {
+					addFragment(track, cuts[i] - previous);
 				}
-			}
-			track[lengthFragment+tmp-1]++;
-			if (dna instanceof CircularDNA) {
-				if (tmp > 0) {
-					track[tmp-1]--;
-				}
+				previous = cuts[i];
 			}
 		}
+		addFragment(track, dna.getLengthDNA() - previous + ((circular && first > 0) ? first : 0));
 	}
 	
-	private void setEnzymeTrack(int[] track, int[] fragmentSizes) {
-		for (int fragmentSize : fragmentSizes) {
-			track[fragmentSize-1]++;
+	private void addFragment(Track track, int fragmentSize) {
+		if (fragmentSize > 0) {
+			track.add(fragmentSize);
 		}
 	}
 	
-	private void setAllEnzymesTrack(int[] track) {
-		for (Object o : dna.getDNA()) {
-			if (o instanceof Integer) {
-				track[((int) o)-1]++;
-			}
-		}
+	private void setAllEnzymesTrack(Track track) {
+		setEnzymeTrack(track, -1);
 	}
 	
 	private void setTracks() {
@@ -158,93 +292,78 @@ public class Electrophoresis {
 		if (moreThanOneEnzyme()) {
 			numTracks++;
 		}
-		tracks = new int[numTracks][scale[scale.length-1]];
+		tracks = new Track[numTracks];
 		for (int i = 0; i < enzymes.length; i++) {
 			if (enzymes[i].getFragmentSizes() == null) {
-				setEnzymeTrack(tracks[i], enzymes[i].getName());
+				tracks[i] = new Track();
+				setEnzymeTrack(tracks[i], i);
 			} else {
-				setEnzymeTrack(tracks[i], enzymes[i].getFragmentSizes());
+				tracks[i] = new Track(enzymes[i].getFragmentSizes());
 			}
 		}
 		if (moreThanOneEnzyme()) {
 			if (allEnzymesTrack == null) {
+				tracks[tracks.length-1] = new Track();
 				setAllEnzymesTrack(tracks[tracks.length-1]);
 			} else {
-				setEnzymeTrack(tracks[tracks.length-1], allEnzymesTrack);
+				tracks[tracks.length-1] = new Track(allEnzymesTrack);
 			}
 		}
-		tracks = Helper.transposeMatrix(tracks);
 	}
 	
-	private void setFragments() {
-		int[] numFragments = new int[tracks[0].length];
-		for (int c = 0; c < tracks[0].length; c++) {
-			for (int r = 0; r < tracks.length; r++) {
-				numFragments[c] += tracks[r][c];
-			}
+	/**
+	 * Find a DNA segment whose fragment sizes are each within tolerance of the measured ones in this Electrophoresis
+	 * @param circular	true to find a circular segment; false to find a linear one
+	 * @return			the DNA object found, which is invalid if there is none
+	 */
+	private DNA measuredDNA(boolean circular, double tolerance) {
+		int[][] all = ToleranceDigestSearch.intervals(tracks[tracks.length-1].getFragmentSizes(), tolerance);
+		int[][] enzymeLo = new int[enzymes.length][];
+		int[][] enzymeHi = new int[enzymes.length][];
+		String[] enzymeNames = new String[enzymes.length];
+		for (int i = 0; i < enzymes.length; i++) {
+			int[][] enzyme = ToleranceDigestSearch.intervals(tracks[i].getFragmentSizes(), tolerance);
+			enzymeLo[i] = enzyme[0];
+			enzymeHi[i] = enzyme[1];
+			enzymeNames[i] = enzymes[i].getName();
 		}
+		ToleranceDigestSearch search = new ToleranceDigestSearch(circular, all[0], all[1], enzymeLo, enzymeHi);
+		if (!search.search()) {
+			return new LinearDNA(this, null, null);
+		}
+		if (circular) {
+			return new CircularDNA(search.getLengthDNA(), search.getCuts(), search.getCutEnzymes(), enzymeNames);
+		}
+		return new LinearDNA(search.getLengthDNA(), search.getCuts(), search.getCutEnzymes(), enzymeNames);
+	}
+	
+	private void setFragments() {
 		for (int i = 0; i < enzymes.length; i++) {
-			enzymes[i].setNumFragments(numFragments[i]);
+			enzymes[i].setNumFragments(tracks[i].getNumFragments());
 		}
-		totalFragments = numFragments[numFragments.length-1];
+		totalFragments = tracks[tracks.length-1].getNumFragments();
 	}
 	
 	private void clearObject() {
 		tracks = null;
-		scale = null;
+		maxScale = 0;
 		totalFragments = 0;
 		enzymes = null;
 		allEnzymesTrack = null;
 
 	}
 	
+	/**
+	 * Write the table of this Electrophoresis to out without building it as a String first
+	 * @param out	an Appendable to write to, such as a StringBuilder, Writer or PrintStream
+	 * 				out != null
+	 * @param rows	which rows of the scale to write
+	 */
+	public void render(Appendable out, GelRenderer.Rows rows) throws IOException {
+		new GelRenderer(this, rows).render(out);
+	}
+	
 	public String toString() {
-		if (!dna.isValid()) {
-			return "Gel Electrophoresis: Invalid";
-		}
-		String res = "Gel Electrophoresis: \n";
-		int max = "Scale".length();
-		
-		String allEnzymes = null;
-		if (moreThanOneEnzyme()) {
-			allEnzymes = enzymes[0].getName();
-			for (int i = 1; i < enzymes.length; i++) {
-				allEnzymes += " + " + enzymes[i].getName();
-			}
-			if (allEnzymes.length() > "Scale".length()) {
-				max = allEnzymes.length();
-			}
-		}
-				
-		String[] row = new String[moreThanOneEnzyme() ? enzymes.length + 2 : enzymes.length + 1];
-		for (int i = 0; i < enzymes.length; i++) {
-			row[i] = enzymes[i].getName();
-		}
-		if (moreThanOneEnzyme()) {
-			row[row.length - 2] = allEnzymes;
-		}
-		row[row.length - 1] = "Scale";
-		
-		String format = "|";
-		for (int i = 0; i < row.length; i++) {
-			format += "%-" + max + "s|";
-		}
-		
-		String line = "-";
-		for (int i = 0; i < row.length * (max + 1); i++) {
-			line += "-";
-		}
-		
-		res += line + "\n" + String.format(format, (Object[]) row) + "\n" + line + "\n";
-		for (int r = 0; r < tracks.length; r++) {
-			for (int c = 0; c < tracks[r].length; c++) {
-				row[c] = tracks[r][c] == 0 ? " " : String.valueOf(tracks[r][c]);
-			}
-			row[row.length - 1] = String.valueOf(scale[r]);
-			res += String.format(format, (Object[]) row) + "\n";
-		}
-		
-		res += line + "\n\tTotal Fragments: " + totalFragments;
-		return res;
+		return new GelRenderer(this, GelRenderer.Rows.ALL).toString();
 	}
 }
\ No newline at end of file
@@ -2,16 +2,21 @@ import java.util.Arrays;
 
 public class Enzyme {
 	private String name;
+	private int id;
+	private String site;
+	private int cut;
 	private int[] fragmentSizes;
 	private int numCuts;
 	private int numFragments;
 	
 	/**
-	 * Create Enzyme object with a given name
+	 * Create Enzyme object with a given name, registering the name with EnzymeRegistry
 	 * @param name	a String representing the name of this enzyme
+	 * 				EnzymeRegistry.isValidName(name)
 	 */
 	public Enzyme(String name) {
 		this.name = name;
+		id = EnzymeRegistry.id(name);
 	}
 	
 	/**
@@ -37,12 +42,42 @@ public class Enzyme {
 	}
 
 	/**
-	 * @return	single uppercase letter representing name of enzyme
-	 * 			name.length() == 1
-	 * 			Character.isUpperCase(name.charAt(0))
+	 * Create Enzyme object with a given name that cuts a DNA sequence wherever it finds a given recognition site
+	 * @param name	a String representing the name of this enzyme
+	 * @param site	a String representing the recognition site of this enzyme, from 5' to 3', in the IUPAC nucleotide codes A, C, G, T, R, Y, S, W, K, M, B, D, H, V and N,
+	 * 				such as "GAATTC" for EcoRI
+	 * 				site.length() > 0
+	 * @param cut	an integer representing the number of bases from the start of site to where this enzyme cuts the strand it was read from,
+	 * 				such as 1 for EcoRI, which cuts G^AATTC; it may be negative or larger than site.length() for enzymes that cut outside their site
+	 */
+	public Enzyme(String name, String site, int cut) {
+		this(name);
+		this.site = site;
+		this.cut = cut;
+	}
+
+	/**
+	 * @return	a String representing name of enzyme, such as a single uppercase letter or a catalog name like "EcoRI"
+	 * 			EnzymeRegistry.isValidName(name)
 	 */
 	public String getName() { return name; }
 	
+	/**
+	 * @return	an integer id shared by every Enzyme with the same name
+	 * 			id == EnzymeRegistry.id(name)
+	 */
+	public int getId() { return id; }
+	
+	/**
+	 * @return	a String representing the recognition site of this enzyme, from 5' to 3'; null if it was not given
+	 */
+	public String getSite() { return site; }
+	
+	/**
+	 * @return	an integer representing the number of bases from the start of the recognition site to where this enzyme cuts
+	 */
+	public int getCut() { return cut; }
+	
 	/**
 	 * @return	array of integers, where each integer represents the length of a fragment produced by individually applying this enzyme to the DNA segment
 	 * 			fragmentSizes.length > 0
@@ -70,6 +105,7 @@ public class Enzyme {
 		return "Enzyme " + name + ": " +
 					"\n\tNumber of Cuts: " + numCuts +
 					"\n\tNumber of Fragments: " + numFragments +
-					(fragmentSizes != null ? "\n\tSize of Fragments: " + Arrays.toString(fragmentSizes) : "");
+					(fragmentSizes != null ? "\n\tSize of Fragments: " + Arrays.toString(fragmentSizes) : "") +
+					(site != null ? "\n\tRecognition Site: " + site + ", cut " + cut + " bases in" : "");
 	}
 }
\ No newline at end of file
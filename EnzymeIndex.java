@@ -0,0 +1,78 @@
+import java.util.Arrays;
+
+public class EnzymeIndex {
+	private int[] localIndex;
+	private int[] ids;
+	private int numEnzymes;
+
+	/**
+	 * Create EnzymeIndex object that numbers the enzymes of a single digest 0, 1, 2, ... in the order they are added,
+	 * finding the number of an enzyme from its EnzymeRegistry id with an array lookup instead of comparing its name with every enzyme found so far
+	 */
+	public EnzymeIndex() {
+		localIndex = new int[EnzymeRegistry.size()];
+		ids = new int[8];
+	}
+
+	/**
+	 * Find the number of an enzyme, adding it if it is not there yet
+	 * @param id	the EnzymeRegistry id of the enzyme
+	 * @return		the number of the enzyme in this digest
+	 */
+	public int add(int id) {
+		if (id >= localIndex.length) {
+			localIndex = Arrays.copyOf(localIndex, Math.max(id + 1, EnzymeRegistry.size()));
+		}
+		if (localIndex[id] == 0) {
+			if (numEnzymes == ids.length) {
+				ids = Arrays.copyOf(ids, 2*numEnzymes);
+			}
+			ids[numEnzymes] = id;
+			localIndex[id] = ++numEnzymes;
+		}
+		return localIndex[id] - 1;
+	}
+
+	/**
+	 * Find the number of an enzyme, adding it if it is not there yet
+	 * @param name	a String representing the name of the enzyme
+	 * @return		the number of the enzyme in this digest
+	 */
+	public int add(String name) {
+		return add(EnzymeRegistry.id(name));
+	}
+
+	/**
+	 * @param id	the EnzymeRegistry id of an enzyme
+	 * @return		the number of the enzyme in this digest; -1 if it has not been added
+	 */
+	public int indexOf(int id) {
+		return (id < localIndex.length) ? localIndex[id] - 1 : -1;
+	}
+
+	/**
+	 * @return	an integer representing the number of enzymes added
+	 */
+	public int size() { return numEnzymes; }
+
+	/**
+	 * @return	an array of Strings holding the name of each enzyme added, in the order they were added
+	 */
+	public String[] getNames() {
+		String[] res = new String[numEnzymes];
+		for (int i = 0; i < numEnzymes; i++) {
+			res[i] = EnzymeRegistry.name(ids[i]);
+		}
+		return res;
+	}
+
+	/**
+	 * Remove every enzyme, in time proportional to the number of enzymes added rather than the number registered
+	 */
+	public void clear() {
+		for (int i = 0; i < numEnzymes; i++) {
+			localIndex[ids[i]] = 0;
+		}
+		numEnzymes = 0;
+	}
+}
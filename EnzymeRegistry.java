@@ -0,0 +1,118 @@
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Interns enzyme names, giving every distinct name a dense integer id the first time it is seen, for as long as the program runs.
+ * The 26 single uppercase letters are registered first, so the id of a letter c is always c - 'A' and can be found without a lookup.
+ * Any other name is a letter followed by letters, digits, ".", "-" or "_", such as "EcoRI" or "BsaI-HF",
+ * and is written between square brackets in the LinearDNA and CircularDNA input formats, for example "-A--[EcoRI]---A-".
+ * Looking up or adding a name is safe from any thread.
+ */
+
+public class EnzymeRegistry {
+	private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<String, Integer>();
+	private static volatile String[] names = new String[64];
+	private static volatile int size;
+
+	static {
+		for (int i = 0; i < Helper.LETTERS.length(); i++) {
+			id(String.valueOf(Helper.LETTERS.charAt(i)));
+		}
+	}
+
+	/**
+	 * Find the id of an enzyme name, registering it if it has not been seen yet
+	 * @param name	a String representing the name of an enzyme
+	 * 				isValidName(name)
+	 * @return		the id of name
+	 * 				id(name) in [0, size())
+	 */
+	public static int id(String name) {
+		Integer res = IDS.get(name);
+		if (res != null) {
+			return res;
+		}
+		synchronized (IDS) {
+			res = IDS.get(name);
+			if (res == null) {
+				if (size == names.length) {
+					names = Arrays.copyOf(names, 2*size);
+				}
+				names[size] = name;
+				res = size;
+				size++;
+				IDS.put(name, res);
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * @param c	an uppercase letter
+	 * @return	the id of the enzyme named by c, without looking it up
+	 */
+	public static int letterId(char c) { return c - 'A'; }
+
+	/**
+	 * @param id	the id of a registered enzyme name
+	 * 				id in [0, size())
+	 * @return		the name with that id
+	 */
+	public static String name(int id) { return names[id]; }
+
+	/**
+	 * @return	an integer representing the number of enzyme names registered so far
+	 */
+	public static int size() { return size; }
+
+	/**
+	 * Determine if a String can be used as the name of an enzyme
+	 * @param name	a String
+	 * @return		true if name is a letter followed by letters, digits, ".", "-" or "_"; false otherwise
+	 */
+	public static boolean isValidName(String name) {
+		if (name == null || name.isEmpty() || !Character.isLetter(name.charAt(0))) {
+			return false;
+		}
+		for (int i = 1; i < name.length(); i++) {
+			if (!isNameChar(name.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param c	a character
+	 * @return	true if c may appear in an enzyme name after its first letter; false otherwise
+	 */
+	public static boolean isNameChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '_';
+	}
+
+	/**
+	 * @param name	the name of an enzyme
+	 * @return		how a cut made by the enzyme is written in the LinearDNA and CircularDNA input formats:
+	 * 				the name itself if it is a single uppercase letter, or the name between square brackets otherwise
+	 */
+	public static String label(String name) {
+		if (name.length() == 1 && name.charAt(0) >= 'A' && name.charAt(0) <= 'Z') {
+			return name;
+		}
+		return "[" + name + "]";
+	}
+
+	/**
+	 * @param i	an integer
+	 * 			i >= 0
+	 * @return	the i-th name in the sequence A, B, ..., Z, AA, AB, ..., AZ, BA, ..., numbered like spreadsheet columns,
+	 * 			for making up as many enzymes as are needed
+	 */
+	public static String catalogName(int i) {
+		StringBuilder res = new StringBuilder();
+		for (int n = i + 1; n > 0; n = (n - 1) / 26) {
+			res.append(Helper.LETTERS.charAt((n - 1) % 26));
+		}
+		return res.reverse().toString();
+	}
+}
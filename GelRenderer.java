@@ -0,0 +1,153 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.TreeSet;
+
+public class GelRenderer {
+	/**
+	 * Which rows of the scale are written:
+	 * ALL writes a row for every kilobase on the scale;
+	 * BANDS only writes the rows where at least one track has a band;
+	 * COLLAPSED writes the rows with bands, and a single row for each run of rows without any, labelled with the range of the run
+	 */
+	public enum Rows { ALL, BANDS, COLLAPSED }
+
+	private Electrophoresis ele;
+	private Rows rows;
+	private int width;
+	private String line;
+	private String header;
+	private String spaces;
+
+	/**
+	 * Create GelRenderer object that writes the table of a given Electrophoresis, working out its column width, header and border once
+	 * @param ele	an Electrophoresis object
+	 * 				ele != null
+	 * @param rows	which rows of the scale to write
+	 */
+	public GelRenderer(Electrophoresis ele, Rows rows) {
+		this.ele = ele;
+		this.rows = rows;
+		if (!isValid()) {
+			return;
+		}
+		Enzyme[] enzymes = ele.getEnzymes();
+		width = "Scale".length();
+		for (Enzyme enzyme : enzymes) {
+			width = Math.max(width, enzyme.getName().length());
+		}
+		String allEnzymes = null;
+		if (ele.moreThanOneEnzyme()) {
+			allEnzymes = String.join(" + ", names(enzymes));
+			width = Math.max(width, allEnzymes.length());
+		}
+		if (rows == Rows.COLLAPSED) {
+			width = Math.max(width, 2*String.valueOf(ele.getMaxScale()).length() + 1);
+		}
+		spaces = " ".repeat(width);
+		line = "-".repeat((ele.getNumTracks() + 1) * (width + 1) + 1);
+
+		StringBuilder res = new StringBuilder("|");
+		for (Enzyme enzyme : enzymes) {
+			res.append(enzyme.getName()).append(padding(enzyme.getName())).append('|');
+		}
+		if (allEnzymes != null) {
+			res.append(allEnzymes).append(padding(allEnzymes)).append('|');
+		}
+		res.append("Scale").append(padding("Scale")).append('|');
+		header = res.toString();
+	}
+
+	/**
+	 * Write the table of the electrophoresis, in the same layout as Electrophoresis.toString()
+	 * @param out	an Appendable to write to, such as a StringBuilder, Writer or PrintStream
+	 * 				out != null
+	 */
+	public void render(Appendable out) throws IOException {
+		if (!isValid()) {
+			out.append("Gel Electrophoresis: Invalid");
+			return;
+		}
+		out.append("Gel Electrophoresis: \n").append(line).append('\n').append(header).append('\n').append(line).append('\n');
+		if (rows == Rows.ALL) {
+			for (int r = 1; r <= ele.getMaxScale(); r++) {
+				row(out, r, null);
+			}
+		} else {
+			int previous = 0;
+			for (int r : bandSizes()) {
+				if (rows == Rows.COLLAPSED && r > previous + 1) {
+					row(out, -1, (r > previous + 2) ? (previous + 1) + "-" + (r - 1) : String.valueOf(r - 1));
+				}
+				row(out, r, null);
+				previous = r;
+			}
+			if (rows == Rows.COLLAPSED && ele.getMaxScale() > previous) {
+				row(out, -1, (ele.getMaxScale() > previous + 1) ? (previous + 1) + "-" + ele.getMaxScale() : String.valueOf(ele.getMaxScale()));
+			}
+		}
+		out.append(line).append("\n\tTotal Fragments: ").append(String.valueOf(ele.getTotalFragments()));
+	}
+
+	/**
+	 * @return	the table of the electrophoresis as a String
+	 */
+	public String toString() {
+		StringBuilder res = new StringBuilder();
+		try {
+			render(res);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return res.toString();
+	}
+
+	private boolean isValid() {
+		return ele.getEnzymes() != null;
+	}
+
+	/**
+	 * Write a single row of the table
+	 * @param size	the fragment size of the row, or -1 for a row without any bands
+	 * @param scale	the label of the scale column, or null to label it with size
+	 */
+	private void row(Appendable out, int size, String scale) throws IOException {
+		out.append('|');
+		for (int c = 0; c < ele.getNumTracks(); c++) {
+			int count = (size < 0) ? 0 : ele.getTrack(c).getCount(size);
+			cell(out, count == 0 ? " " : String.valueOf(count));
+		}
+		cell(out, (scale == null) ? String.valueOf(size) : scale);
+		out.append('\n');
+	}
+
+	private void cell(Appendable out, String value) throws IOException {
+		out.append(value).append(padding(value)).append('|');
+	}
+
+	private CharSequence padding(String value) {
+		return spaces.subSequence(0, Math.max(0, width - value.length()));
+	}
+
+	/**
+	 * @return	every fragment size on the scale that at least one track has a band of, in increasing order
+	 */
+	private TreeSet<Integer> bandSizes() {
+		TreeSet<Integer> res = new TreeSet<Integer>();
+		for (int c = 0; c < ele.getNumTracks(); c++) {
+			for (int size : ele.getTrack(c).getSizes()) {
+				if (size <= ele.getMaxScale()) {
+					res.add(size);
+				}
+			}
+		}
+		return res;
+	}
+
+	private static String[] names(Enzyme[] enzymes) {
+		String[] res = new String[enzymes.length];
+		for (int i = 0; i < enzymes.length; i++) {
+			res[i] = enzymes[i].getName();
+		}
+		return res;
+	}
+}
@@ -0,0 +1,327 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class HashJoinStrategy implements ReconstructionStrategy {
+	private ReconstructionStrategy fallback = new BacktrackingStrategy();
+
+	/**
+	 * Search for an arrangement of a two enzyme digest by joining the two enzymes' tracks:
+	 * the fragments of one enzyme (the driver, whichever has fewer orderings) are placed from left to right,
+	 * and each is filled with consecutive fragments of allEnzymesTrack, the cuts between them being the other enzyme's,
+	 * whose fragments, running from one of its cuts to the next across the driver's cuts, are matched as soon as they are completed;
+	 * whether the rest of an arrangement can be completed only depends on which fragments of each track are left and how far back the other enzyme's last cut is,
+	 * not on the order the placed fragments were placed in, so every such state that cannot be completed is kept, as a pair of 64 bit hashes, in a FailedStates table
+	 * and never searched again when a different ordering of the driver reaches it;
+	 * a linear arrangement is only searched for if its driver fragments do not end with a smaller one than they start with,
+	 * and a circular one if it starts with the driver's smallest fragment, since reversing or rotating it gives one that is;
+	 * electrophoreses with any other number of enzymes are searched with BacktrackingStrategy
+	 */
+	public int[][] reconstruct(int lengthDNA, boolean circular, int[] allEnzymesTrack, int[][] enzymeTracks, ForkJoinPool pool) {
+		if (enzymeTracks.length != 2) {
+			return fallback.reconstruct(lengthDNA, circular, allEnzymesTrack, enzymeTracks, pool);
+		}
+		int driver = (logOrderings(enzymeTracks[0]) <= logOrderings(enzymeTracks[1])) ? 0 : 1;
+		Join join = new Join(lengthDNA, circular, allEnzymesTrack, enzymeTracks[driver], enzymeTracks[1 - driver]);
+		if (!join.search()) {
+			return null;
+		}
+		int[] cutEnzymes = new int[join.numCuts];
+		for (int i = 0; i < cutEnzymes.length; i++) {
+			cutEnzymes[i] = join.driverCuts[i] ? driver : 1 - driver;
+		}
+		return ReconstructionStrategy.canonical(lengthDNA, circular, join.cuts, cutEnzymes);
+	}
+
+	/**
+	 * @return	the natural logarithm of the number of distinct orderings of track
+	 */
+	private static double logOrderings(int[] track) {
+		int[] sizes = track.clone();
+		Arrays.sort(sizes);
+		double res = 0;
+		for (int i = 0, run = 0; i < sizes.length; i++) {
+			run = (i > 0 && sizes[i] == sizes[i-1]) ? run + 1 : 1;
+			res += Math.log(i + 1) - Math.log(run);
+		}
+		return res;
+	}
+
+	public String toString() {
+		return "Hash Join";
+	}
+
+	private static final long KEY_SEED = 0x9E3779B97F4A7C15L;
+	private static final long CHECK_SEED = 0x632BE59BD9B4E019L;
+
+	private static class Join {
+		private boolean circular;
+		private int numDriver;
+		private int[] driverSizes;
+		private int[] driverCounts;
+		private int[] sizes;
+		private int[] counts;
+		private int[] otherSizes;
+		private int[] otherCounts;
+		private FailedStates failed;
+		private int firstDriver;
+		private int placedDriver;
+		private int position;
+		private int numCuts;
+		private int[] cuts;
+		private boolean[] driverCuts;
+
+		/**
+		 * @param driverTrack	the fragments of the enzyme that are placed from left to right
+		 * @param otherTrack	the fragments of the other enzyme
+		 */
+		private Join(int lengthDNA, boolean circular, int[] allEnzymesTrack, int[] driverTrack, int[] otherTrack) {
+			this.circular = circular;
+			numDriver = driverTrack.length;
+			driverSizes = distinct(driverTrack);
+			driverCounts = count(driverTrack, driverSizes);
+			sizes = distinct(allEnzymesTrack);
+			counts = count(allEnzymesTrack, sizes);
+			otherSizes = distinct(otherTrack);
+			otherCounts = count(otherTrack, otherSizes);
+			failed = new FailedStates();
+			int totalCuts = circular ? allEnzymesTrack.length : allEnzymesTrack.length - 1;
+			int enzymeCuts = circular ? driverTrack.length + otherTrack.length : driverTrack.length + otherTrack.length - 2;
+			cuts = new int[Math.max(totalCuts, 0)];
+			driverCuts = new boolean[cuts.length];
+			if (totalCuts != enzymeCuts || sum(allEnzymesTrack) != lengthDNA || sum(driverTrack) != lengthDNA || sum(otherTrack) != lengthDNA) {
+				numDriver = 0;
+			}
+		}
+
+		/**
+		 * @return	true if an arrangement was found, in which case its numCuts cuts are held by cuts and driverCuts; false if there is none
+		 */
+		private boolean search() {
+			return numDriver > 0 && join(0, circular ? -1 : 0);
+		}
+
+		/**
+		 * Place the next fragment of the driver, and fill it
+		 * @param open	the distance from the other enzyme's last cut, or the left end, to the end of the last fragment placed
+		 * @param head	for a circular DNA segment, the distance from position 0 to the other enzyme's first cut, or -1 if it has not been placed yet
+		 * @return		true if every remaining fragment was placed; false otherwise, in which case everything is restored
+		 */
+		private boolean join(int open, int head) {
+			if (placedDriver == numDriver) {
+				int last = circular ? open + head : open;
+				return head >= 0 && count(otherSizes, otherCounts, last) > 0;
+			}
+			long key = state(KEY_SEED, 0, open, head);
+			long check = state(CHECK_SEED, 0, open, head);
+			if (failed.contains(key, check)) {
+				return false;
+			}
+			for (int k = 0; k < driverSizes.length; k++) {
+				if (driverCounts[k] == 0 || (circular && placedDriver == 0 && k > 0)
+						|| (!circular && placedDriver > 0 && placedDriver == numDriver - 1 && driverSizes[k] < firstDriver)) {
+					continue;
+				}
+				driverCounts[k]--;
+				if (placedDriver++ == 0) {
+					firstDriver = driverSizes[k];
+				}
+				int cut = numCuts;
+				if (circular || placedDriver > 1) {
+					cuts[numCuts] = position;
+					driverCuts[numCuts++] = true;
+				}
+				if (fill(driverSizes[k], open, head)) {
+					return true;
+				}
+				numCuts = cut;
+				placedDriver--;
+				driverCounts[k]++;
+			}
+			failed.add(key, check);
+			return false;
+		}
+
+		/**
+		 * Fill the rest of the driver's fragment being placed with fragments of allEnzymesTrack, and go on placing the driver's fragments
+		 * @param remaining	the number of kilobases of the driver's fragment left to fill
+		 * 					remaining > 0
+		 * @return			true if every remaining fragment was placed; false otherwise, in which case everything is restored
+		 */
+		private boolean fill(int remaining, int open, int head) {
+			long key = state(KEY_SEED, remaining, open, head);
+			long check = state(CHECK_SEED, remaining, open, head);
+			if (failed.contains(key, check)) {
+				return false;
+			}
+			int largest = largest(otherSizes, otherCounts);
+			for (int k = 0; k < sizes.length && sizes[k] <= remaining; k++) {
+				int size = sizes[k];
+				int piece = open + size;
+				if (counts[k] == 0 || piece > largest) {
+					continue;
+				}
+				counts[k]--;
+				position += size;
+				if (size == remaining) {
+					if (join(piece, head)) {
+						return true;
+					}
+				} else if (head < 0 || count(otherSizes, otherCounts, piece) > 0) {
+					if (head >= 0) {
+						otherCounts[Arrays.binarySearch(otherSizes, piece)]--;
+					}
+					cuts[numCuts] = position;
+					driverCuts[numCuts++] = false;
+					if (fill(remaining - size, 0, (head < 0) ? piece : head)) {
+						return true;
+					}
+					numCuts--;
+					if (head >= 0) {
+						otherCounts[Arrays.binarySearch(otherSizes, piece)]++;
+					}
+				}
+				position -= size;
+				counts[k]++;
+			}
+			failed.add(key, check);
+			return false;
+		}
+
+		/**
+		 * @param seed	KEY_SEED or CHECK_SEED, which give two independent hashes of the same state
+		 * @return		a hash of what is left to place: the fragments of each track that are left, what is left of the driver's fragment being filled,
+		 * 				the distances from the other enzyme's last cut and, for a circular DNA segment, to its first one,
+		 * 				and the driver's first fragment, which the last one of a linear DNA segment must not be smaller than
+		 */
+		private long state(long seed, int remaining, int open, int head) {
+			long res = seed;
+			for (int count : driverCounts) {
+				res = mix(res ^ count);
+			}
+			for (int count : counts) {
+				res = mix(res ^ count);
+			}
+			for (int count : otherCounts) {
+				res = mix(res ^ count);
+			}
+			res = mix(res ^ remaining);
+			res = mix(res ^ open);
+			res = mix(res ^ head);
+			return mix(res ^ firstDriver);
+		}
+
+		/**
+		 * @return	x with its bits mixed, so that states differing in a single count get unrelated hashes
+		 */
+		private static long mix(long x) {
+			x = (x ^ (x >>> 33)) * 0xFF51AFD7ED558CCDL;
+			x = (x ^ (x >>> 33)) * 0xC4CEB9FE1A85EC53L;
+			return x ^ (x >>> 33);
+		}
+
+		/**
+		 * @return	the number of fragments of a given size that are left; 0 if there is no such size
+		 */
+		private static int count(int[] sizes, int[] counts, int size) {
+			int k = Arrays.binarySearch(sizes, size);
+			return (k < 0) ? 0 : counts[k];
+		}
+
+		/**
+		 * @return	the largest size of which a fragment is left; 0 if there is none
+		 */
+		private static int largest(int[] sizes, int[] counts) {
+			for (int k = sizes.length - 1; k >= 0; k--) {
+				if (counts[k] > 0) {
+					return sizes[k];
+				}
+			}
+			return 0;
+		}
+
+		private static int[] distinct(int[] track) {
+			int[] res = track.clone();
+			Arrays.sort(res);
+			int n = 0;
+			for (int i = 0; i < res.length; i++) {
+				if (i == 0 || res[i] != res[i-1]) {
+					res[n++] = res[i];
+				}
+			}
+			return Arrays.copyOf(res, n);
+		}
+
+		private static int[] count(int[] track, int[] sizes) {
+			int[] res = new int[sizes.length];
+			for (int size : track) {
+				res[Arrays.binarySearch(sizes, size)]++;
+			}
+			return res;
+		}
+
+		private static int sum(int[] track) {
+			int res = 0;
+			for (int size : track) {
+				res += size;
+			}
+			return res;
+		}
+	}
+
+	/*
+	 * The states of a Join that could not be completed, each kept as two 64 bit hashes in an open addressing table of longs,
+	 * so that looking one up allocates nothing; a state is only taken to be in the table if both of its hashes match.
+	 * The table holds at most MAX_STATES states: when it is full it is emptied, which only means some states get searched again.
+	 */
+	private static class FailedStates {
+		private static final int MAX_STATES = 1 << 18;
+
+		private long[] keys = new long[2 * 1024];
+		private long[] checks = new long[keys.length];
+		private int size;
+
+		/**
+		 * @return	true if the state with hashes key and check was added since the table was last emptied
+		 */
+		private boolean contains(long key, long check) {
+			key = (key == 0) ? 1 : key;
+			int mask = keys.length - 1;
+			for (int i = (int) key & mask; keys[i] != 0; i = (i + 1) & mask) {
+				if (keys[i] == key && checks[i] == check) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Add the state with hashes key and check, which is not in the table
+		 */
+		private void add(long key, long check) {
+			if (size == MAX_STATES) {
+				Arrays.fill(keys, 0);
+				size = 0;
+			} else if (2 * (size + 1) > keys.length) {
+				long[] oldKeys = keys;
+				long[] oldChecks = checks;
+				keys = new long[2 * oldKeys.length];
+				checks = new long[keys.length];
+				size = 0;
+				for (int i = 0; i < oldKeys.length; i++) {
+					if (oldKeys[i] != 0) {
+						add(oldKeys[i], oldChecks[i]);
+					}
+				}
+			}
+			key = (key == 0) ? 1 : key;
+			int mask = keys.length - 1;
+			int i = (int) key & mask;
+			while (keys[i] != 0) {
+				i = (i + 1) & mask;
+			}
+			keys[i] = key;
+			checks[i] = check;
+			size++;
+		}
+	}
+}
@@ -14,47 +14,12 @@ import java.util.Arrays;
  * Convert Object[] to String[]: https://stackoverflow.com/questions/3880274/how-to-convert-the-object-to-string-in-java
  * printf within String: https://stackoverflow.com/questions/47045/sprintf-equivalent-in-java
  * Transpose Matrix: https://stackoverflow.com/questions/26197466/transposing-a-matrix-from-a-2d-array
- * Permutations of Array: https://stackoverflow.com/questions/2920315/permutation-of-array
  * Method Hiding: https://stackoverflow.com/questions/2475259/can-i-override-and-overload-static-methods-in-java
  */
 
 public class Helper {
 	public static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
 	
-	/**
-	 * Generate a random integer between min and max, inclusive
-	 * @param min	included lower bound of random integer to generate
-	 * @param max	included upper bound of random integer to generate
-	 * 				max >= min
-	 * @return		random integer between min and max, inclusive
-	 */
-	public static int randomInt(int min, int max) {
-		return min + (int) ((max - min + 1) * Math.random());
-	}
-	
-	/**
-	 * Add all possible orderings of arr to perms
-	 * @param arr	an array of integers to be re-ordered
-	 * 				arr.length > 0
-	 * @param start	the first index to start re-ordering arr at
-	 * 				the first time permuations() is called on a particular arr, start == 0
-	 * @param save	an ArrayList of integer arrays that will hold all possible orderings of arr after execution
-	 * 				the first time permutations() is called on a particular arr, perms.size() == 0
-	 */
-	public static void permutations(int[] arr, int start, ArrayList<int[]> perms) {
-	    for(int i = start; i < arr.length; i++){
-	        int temp = arr[start];
-	        arr[start] = arr[i];
-	        arr[i] = temp;
-	        permutations(arr, start+1, perms);
-	        arr[i] = arr[start];
-	        arr[start] = temp;
-	    }
-	    if (start == arr.length - 1) {
-	    	perms.add(arr.clone());
-	    }
-	}
-		
 	/**
 	 * Convert an ArrayList of Objects into an array of Objects
 	 * @param list	an ArrayList of Objects to be converted into an array of Objects
@@ -0,0 +1,106 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+public class HeuristicStrategy implements ReconstructionStrategy {
+	public static final int RESTARTS = 8;
+	public static final int STEPS_PER_RESTART = 20000;
+	public static final long SEED = 0x5DEECE66DL;
+
+	private ReconstructionStrategy fallback = new BacktrackingStrategy();
+
+	/**
+	 * Search by local search: starting from a random arrangement, repeatedly swap two fragments or the enzymes of two cuts,
+	 * keeping the swap if it does not increase the number of fragments that do not match the tracks and, with a probability that drops over time, even if it does;
+	 * the search restarts RESTARTS times with a fixed seed, so the result is repeatable,
+	 * and if no arrangement is found BacktrackingStrategy is used, so an arrangement is never missed
+	 */
+	public int[][] reconstruct(int lengthDNA, boolean circular, int[] allEnzymesTrack, int[][] enzymeTracks, ForkJoinPool pool) {
+		int[] labels = ReconstructionStrategy.cutLabels(lengthDNA, circular, allEnzymesTrack, enzymeTracks);
+		if (labels == null) {
+			return null;
+		}
+		int[][] targets = ReconstructionStrategy.sortedTracks(enzymeTracks);
+
+		SplittableRandom random = new SplittableRandom(SEED);
+		int[] order = allEnzymesTrack.clone();
+		int[] cuts = new int[labels.length];
+		int[] fragments = new int[allEnzymesTrack.length];
+		for (int restart = 0; restart < RESTARTS; restart++) {
+			shuffle(order, random);
+			shuffle(labels, random);
+			ReconstructionStrategy.placeCuts(circular, order, cuts);
+			int cost = cost(lengthDNA, circular, cuts, labels, targets, fragments);
+			for (int step = 0; step < STEPS_PER_RESTART && cost > 0; step++) {
+				boolean swapFragments = random.nextBoolean();
+				int[] arr = swapFragments ? order : labels;
+				int i = random.nextInt(arr.length);
+				int j = random.nextInt(arr.length);
+				if (arr[i] == arr[j]) {
+					continue;
+				}
+				swap(arr, i, j);
+				if (swapFragments) {
+					ReconstructionStrategy.placeCuts(circular, order, cuts);
+				}
+				int newCost = cost(lengthDNA, circular, cuts, labels, targets, fragments);
+				double temperature = 2.0 * (STEPS_PER_RESTART - step) / STEPS_PER_RESTART;
+				if (newCost <= cost || random.nextDouble() < Math.exp((cost - newCost) / temperature)) {
+					cost = newCost;
+				} else {
+					swap(arr, i, j);
+					if (swapFragments) {
+						ReconstructionStrategy.placeCuts(circular, order, cuts);
+					}
+				}
+			}
+			if (cost == 0) {
+				return ReconstructionStrategy.canonical(lengthDNA, circular, cuts, labels);
+			}
+		}
+		return fallback.reconstruct(lengthDNA, circular, allEnzymesTrack, enzymeTracks, pool);
+	}
+
+	/**
+	 * @param fragments	an array to work in, at least as long as any track
+	 * @return			the number of fragments, over all enzymes, that are produced by the arrangement but not in the enzyme's track or the other way around
+	 */
+	private static int cost(int lengthDNA, boolean circular, int[] cuts, int[] cutEnzymes, int[][] targets, int[] fragments) {
+		int res = 0;
+		for (int e = 0; e < targets.length; e++) {
+			int n = ReconstructionStrategy.enzymeFragments(lengthDNA, circular, cuts, cutEnzymes, e, fragments);
+			int[] target = targets[e];
+			int i = 0;
+			int j = 0;
+			while (i < n && j < target.length) {
+				if (fragments[i] == target[j]) {
+					i++;
+					j++;
+				} else if (fragments[i] < target[j]) {
+					i++;
+					res++;
+				} else {
+					j++;
+					res++;
+				}
+			}
+			res += (n - i) + (target.length - j);
+		}
+		return res;
+	}
+
+	private static void shuffle(int[] arr, SplittableRandom random) {
+		for (int i = arr.length - 1; i > 0; i--) {
+			swap(arr, i, random.nextInt(i + 1));
+		}
+	}
+
+	private static void swap(int[] arr, int i, int j) {
+		int temp = arr[i];
+		arr[i] = arr[j];
+		arr[j] = temp;
+	}
+
+	public String toString() {
+		return "Heuristic";
+	}
+}
@@ -0,0 +1,260 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * Counters, latency histograms and JFR events for digests, reconstructions and searches.
+ * Everything is switched off unless the program is started with -Ddna.instrumentation=true,
+ * in which case the counters are registered as the MBean "dna:type=Instrumentation" and the events can be recorded with JFR.
+ * ENABLED is read from a system property, so it is not a compile-time constant and javac keeps every check for it;
+ * it is a static final field, so once this class is initialised the JIT folds it and drops the checks from compiled code,
+ * but interpreted and not yet compiled code still reads it and branches on it each time.
+ */
+
+public class Instrumentation implements InstrumentationMBean {
+	public static final boolean ENABLED = Boolean.getBoolean("dna.instrumentation");
+	public static final String OBJECT_NAME = "dna:type=Instrumentation";
+	public static final int HISTOGRAM_BUCKETS = 40;
+	public static final Instrumentation INSTANCE = new Instrumentation();
+
+	private LongAdder digests = new LongAdder();
+	private LongAdder digestNanos = new LongAdder();
+	private LongAdder reconstructions = new LongAdder();
+	private LongAdder reconstructionNanos = new LongAdder();
+	private LongAdder searches = new LongAdder();
+	private LongAdder candidatesTested = new LongAdder();
+	private LongAdder candidatesRejectedEarly = new LongAdder();
+	private LongAdder arrangementsVerified = new LongAdder();
+	private LongAdder circularComparisons = new LongAdder();
+	private AtomicLongArray digestLatency = new AtomicLongArray(HISTOGRAM_BUCKETS);
+	private AtomicLongArray reconstructionLatency = new AtomicLongArray(HISTOGRAM_BUCKETS);
+	private volatile long resetNanos = System.nanoTime();
+
+	static {
+		if (ENABLED) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+			} catch (JMException e) {
+				System.err.println("Could not register " + OBJECT_NAME + ": " + e);
+			}
+		}
+	}
+
+	private Instrumentation() {}
+
+	public long getDigests() { return digests.sum(); }
+
+	public long getReconstructions() { return reconstructions.sum(); }
+
+	public long getSearches() { return searches.sum(); }
+
+	public long getCandidatesTested() { return candidatesTested.sum(); }
+
+	public long getCandidatesRejectedEarly() { return candidatesRejectedEarly.sum(); }
+
+	public long getArrangementsVerified() { return arrangementsVerified.sum(); }
+
+	public long getCircularComparisons() { return circularComparisons.sum(); }
+
+	public double getReconstructionsPerSecond() {
+		return reconstructions.sum() / ((System.nanoTime() - resetNanos) / 1e9);
+	}
+
+	public double getMeanReconstructionMillis() { return mean(reconstructionNanos, reconstructions); }
+
+	public double getMeanDigestMillis() { return mean(digestNanos, digests); }
+
+	public long[] getReconstructionLatencyHistogram() { return toArray(reconstructionLatency); }
+
+	public long[] getDigestLatencyHistogram() { return toArray(digestLatency); }
+
+	public void reset() {
+		for (LongAdder counter : new LongAdder[]{digests, digestNanos, reconstructions, reconstructionNanos, searches,
+				candidatesTested, candidatesRejectedEarly, arrangementsVerified, circularComparisons}) {
+			counter.reset();
+		}
+		for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+			digestLatency.set(i, 0);
+			reconstructionLatency.set(i, 0);
+		}
+		resetNanos = System.nanoTime();
+	}
+
+	/**
+	 * @return	a started DigestEvent, to be passed to endDigest() once the Electrophoresis is built
+	 */
+	public static DigestEvent beginDigest() {
+		DigestEvent event = new DigestEvent();
+		event.start = System.nanoTime();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Record that an electrophoresis was built from a DNA segment
+	 * @param event	the event returned by beginDigest()
+	 * @param dna	the DNA segment
+	 */
+	public static void endDigest(DigestEvent event, DNA dna) {
+		long nanos = System.nanoTime() - event.start;
+		INSTANCE.digests.increment();
+		INSTANCE.digestNanos.add(nanos);
+		record(INSTANCE.digestLatency, nanos);
+		event.end();
+		if (event.shouldCommit()) {
+			event.lengthDNA = dna.getLengthDNA();
+			event.cuts = dna.getTotalCuts();
+			event.commit();
+		}
+	}
+
+	/**
+	 * @return	a started ReconstructionEvent, to be passed to endReconstruction() once the DNA segment is found or not
+	 */
+	public static ReconstructionEvent beginReconstruction() {
+		ReconstructionEvent event = new ReconstructionEvent();
+		event.start = System.nanoTime();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Record that a DNA segment was reconstructed from an electrophoresis
+	 * @param event		the event returned by beginReconstruction()
+	 * @param ele		the Electrophoresis the DNA segment was reconstructed from
+	 * @param cacheHit	true if the DNA segment was found in Electrophoresis.CACHE
+	 */
+	public static void endReconstruction(ReconstructionEvent event, Electrophoresis ele, boolean cacheHit) {
+		long nanos = System.nanoTime() - event.start;
+		INSTANCE.reconstructions.increment();
+		INSTANCE.reconstructionNanos.add(nanos);
+		record(INSTANCE.reconstructionLatency, nanos);
+		event.end();
+		if (event.shouldCommit()) {
+			event.found = ele.getDNA().isValid();
+			event.circular = ele.getDNA() instanceof CircularDNA;
+			event.cacheHit = cacheHit;
+			event.fragments = ele.getDNA().isValid() ? ele.getTotalFragments() : 0;
+			event.commit();
+		}
+	}
+
+	/**
+	 * @return	a started SearchEvent, to be passed to endSearch() once DoubleDigestSearch.next() returns
+	 */
+	public static SearchEvent beginSearch() {
+		SearchEvent event = new SearchEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Record the work done by one call to DoubleDigestSearch.next()
+	 * @param event			the event returned by beginSearch()
+	 * @param circular		true if the search was for a circular segment
+	 * @param found			true if the search found an arrangement of cuts
+	 * @param tested		the number of cuts the search tried to place
+	 * @param rejected		the number of those cuts that were rejected as soon as they were tried
+	 * @param verified		the number of complete arrangements of cuts checked
+	 * @param comparisons	the number of pairs of cuts compared to find the least rotation of circular arrangements
+	 */
+	public static void endSearch(SearchEvent event, boolean circular, boolean found, long tested, long rejected, long verified, long comparisons) {
+		INSTANCE.searches.increment();
+		INSTANCE.candidatesTested.add(tested);
+		INSTANCE.candidatesRejectedEarly.add(rejected);
+		INSTANCE.arrangementsVerified.add(verified);
+		INSTANCE.circularComparisons.add(comparisons);
+		event.end();
+		if (event.shouldCommit()) {
+			event.circular = circular;
+			event.found = found;
+			event.candidatesTested = tested;
+			event.candidatesRejectedEarly = rejected;
+			event.arrangementsVerified = verified;
+			event.circularComparisons = comparisons;
+			event.commit();
+		}
+	}
+
+	public String toString() {
+		return "Instrumentation: " +
+					"\n\tDigests: " + getDigests() +
+					"\n\tReconstructions: " + getReconstructions() +
+					"\n\tSearches: " + getSearches() +
+					"\n\tCandidates Tested: " + getCandidatesTested() +
+					"\n\tCandidates Rejected Early: " + getCandidatesRejectedEarly() +
+					"\n\tArrangements Verified: " + getArrangementsVerified() +
+					"\n\tCircular Comparisons: " + getCircularComparisons();
+	}
+
+	/**
+	 * Count a latency in the bucket of its number of microseconds
+	 */
+	private static void record(AtomicLongArray histogram, long nanos) {
+		int bucket = 64 - Long.numberOfLeadingZeros(nanos / 1000);
+		histogram.incrementAndGet(Math.min(bucket, HISTOGRAM_BUCKETS - 1));
+	}
+
+	private static double mean(LongAdder nanos, LongAdder count) {
+		long n = count.sum();
+		return n == 0 ? 0 : nanos.sum() / 1e6 / n;
+	}
+
+	private static long[] toArray(AtomicLongArray histogram) {
+		long[] res = new long[histogram.length()];
+		for (int i = 0; i < res.length; i++) {
+			res[i] = histogram.get(i);
+		}
+		return res;
+	}
+
+	@Name("dna.Digest")
+	@Label("Digest")
+	@Category("DNA")
+	public static class DigestEvent extends Event {
+		@Label("Length DNA")
+		private int lengthDNA;
+		@Label("Cuts")
+		private int cuts;
+		private transient long start;
+	}
+
+	@Name("dna.Reconstruction")
+	@Label("Reconstruction")
+	@Category("DNA")
+	public static class ReconstructionEvent extends Event {
+		@Label("Found")
+		private boolean found;
+		@Label("Circular")
+		private boolean circular;
+		@Label("Cache Hit")
+		private boolean cacheHit;
+		@Label("Fragments")
+		private int fragments;
+		private transient long start;
+	}
+
+	@Name("dna.Search")
+	@Label("Search")
+	@Category("DNA")
+	public static class SearchEvent extends Event {
+		@Label("Circular")
+		private boolean circular;
+		@Label("Found")
+		private boolean found;
+		@Label("Candidates Tested")
+		private long candidatesTested;
+		@Label("Candidates Rejected Early")
+		private long candidatesRejectedEarly;
+		@Label("Arrangements Verified")
+		private long arrangementsVerified;
+		@Label("Circular Comparisons")
+		private long circularComparisons;
+	}
+}
@@ -0,0 +1,66 @@
+public interface InstrumentationMBean {
+	/**
+	 * @return	the number of electrophoreses built from DNA segments
+	 */
+	long getDigests();
+
+	/**
+	 * @return	the number of DNA segments reconstructed from electrophoreses, including those found in Electrophoresis.CACHE
+	 */
+	long getReconstructions();
+
+	/**
+	 * @return	the number of calls to DoubleDigestSearch.next()
+	 */
+	long getSearches();
+
+	/**
+	 * @return	the number of cuts the searches tried to place
+	 */
+	long getCandidatesTested();
+
+	/**
+	 * @return	the number of cuts the searches rejected as soon as they were tried, without placing the rest of the segment
+	 */
+	long getCandidatesRejectedEarly();
+
+	/**
+	 * @return	the number of complete arrangements of cuts the searches checked against every track
+	 */
+	long getArrangementsVerified();
+
+	/**
+	 * @return	the number of pairs of cuts the searches compared to find the least rotation of circular arrangements
+	 */
+	long getCircularComparisons();
+
+	/**
+	 * @return	the average number of reconstructions per second since the counters were last reset
+	 */
+	double getReconstructionsPerSecond();
+
+	/**
+	 * @return	the average number of milliseconds taken by a reconstruction
+	 */
+	double getMeanReconstructionMillis();
+
+	/**
+	 * @return	the average number of milliseconds taken by a digest
+	 */
+	double getMeanDigestMillis();
+
+	/**
+	 * @return	the number of reconstructions by latency, where element i counts those that took [2^(i-1), 2^i) microseconds
+	 */
+	long[] getReconstructionLatencyHistogram();
+
+	/**
+	 * @return	the number of digests by latency, where element i counts those that took [2^(i-1), 2^i) microseconds
+	 */
+	long[] getDigestLatencyHistogram();
+
+	/**
+	 * Set every counter and histogram back to 0
+	 */
+	void reset();
+}
@@ -14,8 +14,33 @@ public class LinearDNA extends DNA {
 		super(ele);
 	}
 	
+	public LinearDNA(Electrophoresis ele, int[] cuts, int[] cutEnzymes) {
+		super(ele, cuts, cutEnzymes);
+	}
+	
+	public LinearDNA(int lengthDNA, int[] cuts, int[] cutEnzymes, String[] enzymeNames) {
+		super(lengthDNA, cuts, cutEnzymes, enzymeNames);
+	}
+	
+	/**
+	 * Create one possible LinearDNA object cut by a single enzyme based on a partial digest,
+	 * in which every distance between two cuts, or between a cut and an end of the segment, appears as a fragment;
+	 * the segment is never greater than its reverse, and is not valid if no segment produces the partial digest
+	 * @param enzymeName	a String representing the name of the enzyme
+	 * @param fragmentSizes	an array of integers representing the length of every fragment produced by the partial digest
+	 * 						fragmentSizes[i] > 0 for i in [0, fragmentSizes.length)
+	 */
+	public LinearDNA(String enzymeName, int[] fragmentSizes) {
+		this(PartialDigestSearch.solve(fragmentSizes), enzymeName);
+	}
+	
+	private LinearDNA(PartialDigestSearch search, String enzymeName) {
+		super(search == null ? 0 : search.getLengthDNA(), search == null ? null : search.getCuts(),
+				new int[search == null ? 0 : search.getCuts().length], new String[]{enzymeName});
+	}
+	
 	public void setCuts() {
-		if (getDNA().size() > 0) {
+		if (getCuts() != null) {
 			super.setCuts();
 		} else {
 			for (Enzyme enzyme : getEnzymes()) {
@@ -0,0 +1,280 @@
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class MutableDNA {
+	private int lengthDNA;
+	private boolean circular;
+	private TreeMap<Integer, Integer> cuts;
+	private EnzymeIndex index;
+	private ArrayList<Enzyme> enzymes;
+	private ArrayList<TreeSet<Integer>> enzymeCuts;
+	private ArrayList<Track> tracks;
+	private TreeSet<Integer> allCuts;
+	private Track allEnzymesTrack;
+
+	/**
+	 * Create MutableDNA object for a DNA segment with no cuts yet, whose cuts can then be added, removed, moved and changed one at a time;
+	 * every edit only updates the fragments next to the cut it changes, in the track of its enzyme and in the track for all enzymes,
+	 * so it takes O(log n) time for a segment with n cuts instead of rebuilding the electrophoresis
+	 * @param lengthDNA	an integer representing the number of kilobases in the DNA segment
+	 * 					lengthDNA > 0
+	 * @param circular	true if the DNA segment is circular; false if it is linear
+	 */
+	public MutableDNA(int lengthDNA, boolean circular) {
+		this.lengthDNA = lengthDNA;
+		this.circular = circular;
+		cuts = new TreeMap<Integer, Integer>();
+		index = new EnzymeIndex();
+		enzymes = new ArrayList<Enzyme>();
+		enzymeCuts = new ArrayList<TreeSet<Integer>>();
+		tracks = new ArrayList<Track>();
+		allCuts = new TreeSet<Integer>();
+		allEnzymesTrack = new Track(new int[]{lengthDNA});
+	}
+
+	/**
+	 * Create MutableDNA object holding the same cuts as a DNA object
+	 * @param dna	a DNA object
+	 * 				dna.isValid()
+	 */
+	public MutableDNA(DNA dna) {
+		this(dna.getLengthDNA(), dna instanceof CircularDNA);
+		int[] positions = dna.getCuts();
+		short[] cutEnzymes = dna.getCutEnzymes();
+		for (int i = 0; i < positions.length; i++) {
+			addCut(positions[i], dna.getEnzymes()[cutEnzymes[i]].getName());
+		}
+	}
+
+	/**
+	 * @return	an integer representing the number of kilobases in the DNA segment
+	 */
+	public int getLengthDNA() { return lengthDNA; }
+
+	/**
+	 * @return	true if the DNA segment is circular; false if it is linear
+	 */
+	public boolean isCircular() { return circular; }
+
+	/**
+	 * @return	an integer representing the total number of cuts made by all enzymes
+	 */
+	public int getTotalCuts() { return cuts.size(); }
+
+	/**
+	 * @param position	the position of a cut, in kilobases from the left end
+	 * @return			the name of the enzyme that made the cut at position; null if there is none
+	 */
+	public String getEnzyme(int position) {
+		Integer enzyme = cuts.get(position);
+		return enzyme == null ? null : enzymes.get(enzyme).getName();
+	}
+
+	/**
+	 * Add a cut
+	 * @param position		the position of the cut, in kilobases from the left end;
+	 * 						in (0, getLengthDNA()) for a linear segment, or [0, getLengthDNA()) for a circular one
+	 * @param enzymeName	a String representing the name of the enzyme that made the cut
+	 * 						EnzymeRegistry.isValidName(enzymeName)
+	 * @return				true if the cut was added; false if position is out of range or already cut
+	 */
+	public boolean addCut(int position, String enzymeName) {
+		if (!inRange(position) || cuts.containsKey(position)) {
+			return false;
+		}
+		int enzyme = enzymeIndex(enzymeName);
+		cuts.put(position, enzyme);
+		addPosition(enzymeCuts.get(enzyme), tracks.get(enzyme), position);
+		addPosition(allCuts, allEnzymesTrack, position);
+		enzymes.get(enzyme).setNumCuts(enzymeCuts.get(enzyme).size());
+		return true;
+	}
+
+	/**
+	 * Remove a cut; an enzyme left with no cuts keeps its track, which then holds the whole segment
+	 * @param position	the position of the cut, in kilobases from the left end
+	 * @return			true if the cut was removed; false if there was no cut at position
+	 */
+	public boolean removeCut(int position) {
+		Integer enzyme = cuts.remove(position);
+		if (enzyme == null) {
+			return false;
+		}
+		removePosition(enzymeCuts.get(enzyme), tracks.get(enzyme), position);
+		removePosition(allCuts, allEnzymesTrack, position);
+		enzymes.get(enzyme).setNumCuts(enzymeCuts.get(enzyme).size());
+		return true;
+	}
+
+	/**
+	 * Move a cut, keeping the enzyme that made it
+	 * @param from	the position of the cut, in kilobases from the left end
+	 * @param to	the new position of the cut, in the same range as for addCut()
+	 * @return		true if the cut was moved; false if there was no cut at from, or to is out of range or already cut
+	 */
+	public boolean moveCut(int from, int to) {
+		Integer enzyme = cuts.get(from);
+		if (enzyme == null || !inRange(to) || cuts.containsKey(to)) {
+			return false;
+		}
+		removeCut(from);
+		return addCut(to, enzymes.get(enzyme).getName());
+	}
+
+	/**
+	 * Change the enzyme that made a cut; the track for all enzymes is left as it is
+	 * @param position		the position of the cut, in kilobases from the left end
+	 * @param enzymeName	a String representing the name of the enzyme that now makes the cut
+	 * @return				true if the enzyme was changed; false if there was no cut at position
+	 */
+	public boolean setEnzyme(int position, String enzymeName) {
+		Integer from = cuts.get(position);
+		if (from == null) {
+			return false;
+		}
+		int to = enzymeIndex(enzymeName);
+		if (to != from) {
+			cuts.put(position, to);
+			removePosition(enzymeCuts.get(from), tracks.get(from), position);
+			addPosition(enzymeCuts.get(to), tracks.get(to), position);
+			enzymes.get(from).setNumCuts(enzymeCuts.get(from).size());
+			enzymes.get(to).setNumCuts(enzymeCuts.get(to).size());
+		}
+		return true;
+	}
+
+	/**
+	 * @return	the Electrophoresis of the DNA segment as it is now, holding copies of the tracks and enzymes this object keeps up to date,
+	 * 			so that it, its tracks and its fragment counts stay as they are when the DNA segment is edited afterwards;
+	 * 			copying takes time proportional to the number of bands, so ask for it again after edits rather than after every one;
+	 * 			null if no cut was ever added
+	 */
+	public Electrophoresis getEle() {
+		if (enzymes.isEmpty()) {
+			return null;
+		}
+		Enzyme[] res = new Enzyme[enzymes.size()];
+		Track[] resTracks = new Track[enzymes.size() > 1 ? enzymes.size() + 1 : 1];
+		for (int i = 0; i < enzymes.size(); i++) {
+			res[i] = new Enzyme(enzymes.get(i).getName(), enzymes.get(i).getNumCuts());
+			resTracks[i] = new Track(tracks.get(i));
+		}
+		if (enzymes.size() > 1) {
+			resTracks[resTracks.length-1] = new Track(allEnzymesTrack);
+		}
+		return new Electrophoresis(lengthDNA, res, resTracks);
+	}
+
+	/**
+	 * @return	a new LinearDNA or CircularDNA object holding the cuts as they are now, built from scratch;
+	 * 			a circular segment is rotated to start at its first cut, and enzymes with no cuts are left out;
+	 * 			invalid if there are no cuts
+	 */
+	public DNA toDNA() {
+		int[] positions = new int[cuts.size()];
+		int[] cutEnzymes = new int[cuts.size()];
+		int[] index = new int[enzymes.size()];
+		ArrayList<String> names = new ArrayList<String>();
+		for (int i = 0; i < enzymes.size(); i++) {
+			index[i] = enzymeCuts.get(i).isEmpty() ? -1 : names.size();
+			if (index[i] >= 0) {
+				names.add(enzymes.get(i).getName());
+			}
+		}
+		int first = cuts.isEmpty() ? 0 : cuts.firstKey();
+		int n = 0;
+		for (Map.Entry<Integer, Integer> cut : cuts.entrySet()) {
+			positions[n] = circular ? cut.getKey() - first : cut.getKey();
+			cutEnzymes[n++] = index[cut.getValue()];
+		}
+		int[] res = cuts.isEmpty() ? null : positions;
+		String[] enzymeNames = names.toArray(new String[names.size()]);
+		if (circular) {
+			return new CircularDNA(lengthDNA, res, cutEnzymes, enzymeNames);
+		}
+		return new LinearDNA(lengthDNA, res, cutEnzymes, enzymeNames);
+	}
+
+	/**
+	 * Add a cut to a set of cuts, replacing the fragment it falls in with the two it splits it into
+	 * @param positions	the positions of the cuts that produce the fragments in track
+	 * @param track		the Track holding those fragments
+	 * @param position	the position of the cut to add, which is not in positions
+	 */
+	private void addPosition(TreeSet<Integer> positions, Track track, int position) {
+		if (!positions.isEmpty() || !circular) {
+			int left = left(positions, position);
+			int right = right(positions, position);
+			track.remove(right - left);
+			track.add(position - left);
+			track.add(right - position);
+		}
+		positions.add(position);
+	}
+
+	/**
+	 * Remove a cut from a set of cuts, replacing the two fragments next to it with the one they join into
+	 * @param positions	the positions of the cuts that produce the fragments in track
+	 * @param track		the Track holding those fragments
+	 * @param position	the position of the cut to remove, which is in positions
+	 */
+	private void removePosition(TreeSet<Integer> positions, Track track, int position) {
+		positions.remove(position);
+		if (!positions.isEmpty() || !circular) {
+			int left = left(positions, position);
+			int right = right(positions, position);
+			track.remove(position - left);
+			track.remove(right - position);
+			track.add(right - left);
+		}
+	}
+
+	/**
+	 * @return	the position of the closest cut in positions left of position, or of the left end;
+	 * 			for a circular segment, the last cut moved one length to the left if there is none
+	 */
+	private int left(TreeSet<Integer> positions, int position) {
+		Integer res = positions.lower(position);
+		if (res != null) {
+			return res;
+		}
+		return circular ? positions.last() - lengthDNA : 0;
+	}
+
+	/**
+	 * @return	the position of the closest cut in positions right of position, or of the right end;
+	 * 			for a circular segment, the first cut moved one length to the right if there is none
+	 */
+	private int right(TreeSet<Integer> positions, int position) {
+		Integer res = positions.higher(position);
+		if (res != null) {
+			return res;
+		}
+		return circular ? positions.first() + lengthDNA : lengthDNA;
+	}
+
+	private boolean inRange(int position) {
+		return position < lengthDNA && (position > 0 || (circular && position == 0));
+	}
+
+	/**
+	 * Find the index of an enzyme, adding it with no cuts if it is not there yet
+	 * @param name	a String representing the name of an enzyme
+	 * @return		the index of the enzyme in enzymes
+	 */
+	private int enzymeIndex(String name) {
+		int res = index.add(name);
+		if (res == enzymes.size()) {
+			enzymes.add(new Enzyme(name, 0));
+			enzymeCuts.add(new TreeSet<Integer>());
+			tracks.add(new Track(new int[]{lengthDNA}));
+		}
+		return res;
+	}
+
+	public String toString() {
+		return toDNA().toString();
+	}
+}
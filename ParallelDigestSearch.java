@@ -0,0 +1,63 @@
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+@SuppressWarnings("serial")
+public class ParallelDigestSearch extends RecursiveAction {
+	public static final int MAX_SPLIT_DEPTH = 3;
+	public static final int MIN_SPLIT_CUTS = 6;
+
+	private DoubleDigestSearch search;
+	private AtomicBoolean stop;
+	private AtomicReference<DoubleDigestSearch> solution;
+
+	/**
+	 * Create ParallelDigestSearch object that searches the subtree of search, sharing stop and solution with every other subtree
+	 * @param search	a DoubleDigestSearch object
+	 * 					search != null
+	 * @param stop		a flag that is set as soon as any subtree finds a solution
+	 * @param solution	a reference to the first subtree that found a solution
+	 */
+	private ParallelDigestSearch(DoubleDigestSearch search, AtomicBoolean stop, AtomicReference<DoubleDigestSearch> solution) {
+		this.search = search;
+		this.stop = stop;
+		this.solution = solution;
+	}
+
+	/**
+	 * Search for one arrangement of cuts by splitting search into independent subtrees that are searched on pool;
+	 * all subtrees stop as soon as one of them finds an arrangement
+	 * @param pool		a ForkJoinPool to run the subtrees on
+	 * 					pool != null
+	 * @param search	a DoubleDigestSearch object that has not been started
+	 * 					search != null
+	 * @return			the DoubleDigestSearch object holding the first arrangement found, read with getCuts() and getCutEnzymes();
+	 * 					null if there is no arrangement
+	 */
+	public static DoubleDigestSearch search(ForkJoinPool pool, DoubleDigestSearch search) {
+		AtomicBoolean stop = new AtomicBoolean();
+		AtomicReference<DoubleDigestSearch> solution = new AtomicReference<DoubleDigestSearch>();
+		search.setStop(stop);
+		pool.invoke(new ParallelDigestSearch(search, stop, solution));
+		return solution.get();
+	}
+
+	protected void compute() {
+		if (stop.get()) {
+			return;
+		}
+		if (search.getDepth() < MAX_SPLIT_DEPTH && search.getRemainingCuts() > MIN_SPLIT_CUTS) {
+			ArrayList<ParallelDigestSearch> tasks = new ArrayList<ParallelDigestSearch>();
+			for (DoubleDigestSearch subtree : search.split()) {
+				tasks.add(new ParallelDigestSearch(subtree, stop, solution));
+			}
+			invokeAll(tasks);
+			return;
+		}
+		if (search.next() && solution.compareAndSet(null, search)) {
+			stop.set(true);
+		}
+	}
+}
@@ -0,0 +1,146 @@
+import java.util.Arrays;
+import java.util.TreeMap;
+
+public class PartialDigestSearch {
+	private TreeMap<Integer, Integer> distances;
+	private int lengthDNA;
+	private int numPoints;
+	private int[] points;
+	private int placed;
+	private int[] cuts;
+
+	/**
+	 * Create PartialDigestSearch object that searches for the cuts of a single enzyme on a linear DNA segment
+	 * from a partial digest, in which every distance between two cuts, or between a cut and an end of the segment, appears as a fragment;
+	 * the points are placed from the outside in: the largest distance left must reach from a placed point to the next point,
+	 * which is therefore either that far from the left end or that far from the right end,
+	 * and a point is only placed if every distance to the points already placed is still left
+	 * @param fragmentSizes	an array of integers representing the length of every fragment produced by the partial digest
+	 * 						fragmentSizes[i] > 0 for i in [0, fragmentSizes.length)
+	 */
+	public PartialDigestSearch(int[] fragmentSizes) {
+		distances = new TreeMap<Integer, Integer>();
+		for (int fragmentSize : fragmentSizes) {
+			distances.merge(fragmentSize, 1, Integer::sum);
+		}
+		numPoints = (int) Math.round((1 + Math.sqrt(1 + 8.0 * fragmentSizes.length)) / 2);
+		if (numPoints * (numPoints - 1) / 2 != fragmentSizes.length || numPoints < 3) {
+			numPoints = -1;
+		}
+	}
+
+	/**
+	 * Search for the cuts of a partial digest
+	 * @param fragmentSizes	an array of integers representing the length of every fragment produced by the partial digest
+	 * @return				the PartialDigestSearch object holding the cuts found; null if there are none
+	 */
+	public static PartialDigestSearch solve(int[] fragmentSizes) {
+		PartialDigestSearch res = new PartialDigestSearch(fragmentSizes);
+		return res.search() ? res : null;
+	}
+
+	/**
+	 * @return	an integer representing the number of kilobases in the DNA segment, which is the largest distance
+	 */
+	public int getLengthDNA() { return lengthDNA; }
+
+	/**
+	 * @return	an array of integers, where each integer represents the position, in kilobases from the left end, of a cut found by search(), in increasing order
+	 */
+	public int[] getCuts() { return cuts.clone(); }
+
+	/**
+	 * Search for cuts whose distances are exactly the fragments of the partial digest;
+	 * of a segment and its reverse, the one found is not greater than the other
+	 * @return	true if the cuts were found and can be read with getCuts(); false if there are none
+	 */
+	public boolean search() {
+		if (numPoints < 0) {
+			return false;
+		}
+		lengthDNA = distances.lastKey();
+		remove(lengthDNA);
+		points = new int[numPoints];
+		points[0] = 0;
+		points[1] = lengthDNA;
+		placed = 2;
+		if (!place(true)) {
+			return false;
+		}
+		cuts = Arrays.copyOfRange(points, 2, numPoints);
+		Arrays.sort(cuts);
+		for (int i = 0; i < cuts.length; i++) {
+			int reversed = lengthDNA - cuts[cuts.length - 1 - i];
+			if (cuts[i] != reversed) {
+				if (cuts[i] > reversed) {
+					for (int j = 0; j < cuts.length; j++) {
+						cuts[j] = lengthDNA - cuts[j];
+					}
+					Arrays.sort(cuts);
+				}
+				break;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Place the remaining points, the next one being as far from one end as the largest distance left
+	 * @param first	true if no point other than the ends is placed yet, in which case only the left end is tried, since the right end gives the reverse segment
+	 * @return		true if every point was placed; false otherwise
+	 */
+	private boolean place(boolean first) {
+		if (placed == numPoints) {
+			return true;
+		}
+		int y = distances.lastKey();
+		if (tryPoint(y)) {
+			return true;
+		}
+		return !first && lengthDNA - y != y && tryPoint(lengthDNA - y);
+	}
+
+	/**
+	 * Place a point at position y if every distance from it to the points already placed is left, and go on placing the rest
+	 * @return	true if every point was placed; false otherwise, in which case the distances are restored
+	 */
+	private boolean tryPoint(int y) {
+		int[] removed = new int[placed];
+		int n = 0;
+		for (int i = 0; i < placed; i++) {
+			int distance = Math.abs(y - points[i]);
+			if (!remove(distance)) {
+				break;
+			}
+			removed[n++] = distance;
+		}
+		if (n == placed) {
+			points[placed++] = y;
+			if (place(false)) {
+				return true;
+			}
+			placed--;
+		}
+		for (int i = 0; i < n; i++) {
+			distances.merge(removed[i], 1, Integer::sum);
+		}
+		return false;
+	}
+
+	/**
+	 * Remove one fragment of a given size from the distances left
+	 * @return	true if there was one; false otherwise
+	 */
+	private boolean remove(int distance) {
+		Integer count = distances.get(distance);
+		if (count == null) {
+			return false;
+		}
+		if (count == 1) {
+			distances.remove(distance);
+		} else {
+			distances.put(distance, count - 1);
+		}
+		return true;
+	}
+}
@@ -0,0 +1,78 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/* Resources:
+ * Next Lexicographic Permutation: https://en.wikipedia.org/wiki/Permutation#Generation_in_lexicographic_order
+ */
+
+public class Permutations implements Iterator<int[]> {
+	private int[] perm;
+	private boolean pending;
+	private boolean done;
+
+	/**
+	 * Create Permutations object that lazily generates every distinct ordering of arr
+	 * (orderings that only differ by swapping equal values are generated once)
+	 * @param arr	an array of integers to be re-ordered; it is copied, never modified
+	 * 				arr != null
+	 */
+	public Permutations(int[] arr) {
+		perm = arr.clone();
+		Arrays.sort(perm);
+		pending = perm.length > 0;
+		done = !pending;
+	}
+
+	/**
+	 * @return	true if there is at least one ordering that has not yet been returned by next(); false otherwise
+	 */
+	public boolean hasNext() {
+		if (!pending && !done) {
+			pending = nextPermutation(perm);
+			done = !pending;
+		}
+		return pending;
+	}
+
+	/**
+	 * @return	the next distinct ordering, in lexicographic order starting with the sorted array;
+	 * 			the same array is reused and rearranged by the following call to hasNext() or next(),
+	 * 			so callers that need to keep an ordering must clone it
+	 */
+	public int[] next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		pending = false;
+		return perm;
+	}
+
+	/**
+	 * Rearrange arr into the next distinct ordering in lexicographic order
+	 * @param arr	an array of integers
+	 * @return		true if arr was rearranged; false if arr was already the last ordering
+	 */
+	public static boolean nextPermutation(int[] arr) {
+		int i = arr.length - 2;
+		while (i >= 0 && arr[i] >= arr[i+1]) {
+			i--;
+		}
+		if (i < 0) {
+			return false;
+		}
+		int j = arr.length - 1;
+		while (arr[j] <= arr[i]) {
+			j--;
+		}
+		int temp = arr[i];
+		arr[i] = arr[j];
+		arr[j] = temp;
+		for (int l = i + 1, r = arr.length - 1; l < r; l++, r--) {
+			temp = arr[l];
+			arr[l] = arr[r];
+			arr[r] = temp;
+		}
+		return true;
+	}
+}
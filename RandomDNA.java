@@ -0,0 +1,114 @@
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+public class RandomDNA {
+	private int numEnzymes;
+	private int minSize;
+	private int maxSize;
+	private int minFragment;
+	private int maxFragment;
+
+	/**
+	 * Create RandomDNA object that generates random DNA segments based on given parameters;
+	 * a segment with an odd number of fragments and cuts is linear, and one with an even number is circular
+	 * @param numEnzymes	maximum number of different types of enzymes that can be applied to the DNA segment, inclusive
+	 * 						numEnzymes > 0;
+	 * 						the enzymes are named A to Z, then AA, AB and so on, with EnzymeRegistry.catalogName()
+	 * @param minSize		minimum  number of fragments and cuts on the DNA segment, inclusive
+	 * 						minSize >= 3
+	 * @param maxSize		maximum  number of fragments and cuts on the DNA segment, inclusive
+	 * 						maxSize >= minSize
+	 * @param minFragment	minimum length of each fragment produced by cutting the DNA segment with all the enzymes simultaneously
+	 * 						minFragment > 0
+	 * @param maxFragment	maximum length of each fragment produced by cutting the DNA segment with all the enzymes simultaneously
+	 * 						maxFragment >= minFragment
+	 */
+	public RandomDNA(int numEnzymes, int minSize, int maxSize, int minFragment, int maxFragment) {
+		this.numEnzymes = numEnzymes;
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.minFragment = minFragment;
+		this.maxFragment = maxFragment;
+	}
+
+	/**
+	 * Generate the DNA segment at a given index of the sequence of segments for a given seed;
+	 * each segment only depends on seed and index, so the same segments are generated in any order and on any thread
+	 * @param seed	a long that chooses the sequence of DNA segments
+	 * @param index	the position of the DNA segment in the sequence
+	 * 				index >= 0
+	 * @return		a LinearDNA or CircularDNA object
+	 */
+	public DNA generate(long seed, long index) {
+		SplittableRandom random = new SplittableRandom(mix(seed, index));
+		int size = random.nextInt(minSize, maxSize + 1);
+		boolean linear = size % 2 == 1;
+		int numCuts = size / 2;
+		int[] cuts = new int[numCuts];
+		int[] cutEnzymes = new int[numCuts];
+		int[] enzymeIndex = new int[numEnzymes];
+		String[] enzymeNames = new String[numEnzymes];
+		int enzymesUsed = 0;
+		int position = 0;
+		for (int i = 0; i < numCuts; i++) {
+			if (linear) {
+				position += random.nextInt(minFragment, maxFragment + 1);
+			}
+			int letter = random.nextInt(numEnzymes);
+			if (enzymeIndex[letter] == 0) {
+				enzymeNames[enzymesUsed] = EnzymeRegistry.catalogName(letter);
+				enzymeIndex[letter] = ++enzymesUsed;
+			}
+			cuts[i] = position;
+			cutEnzymes[i] = enzymeIndex[letter] - 1;
+			if (!linear) {
+				position += random.nextInt(minFragment, maxFragment + 1);
+			}
+		}
+		if (linear) {
+			position += random.nextInt(minFragment, maxFragment + 1);
+		}
+		String[] names = new String[enzymesUsed];
+		System.arraycopy(enzymeNames, 0, names, 0, enzymesUsed);
+		if (linear) {
+			return new LinearDNA(position, cuts, cutEnzymes, names);
+		}
+		return new CircularDNA(position, cuts, cutEnzymes, names);
+	}
+
+	/**
+	 * @param seed	a long that chooses the sequence of DNA segments
+	 * @param count	the number of DNA segments to generate
+	 * 				count >= 0
+	 * @return		a Stream of the first count DNA segments of the sequence for seed, in order;
+	 * 				calling parallel() on it generates them on several threads without changing them
+	 */
+	public Stream<DNA> stream(long seed, long count) {
+		return LongStream.range(0, count).mapToObj(i -> generate(seed, i));
+	}
+
+	/**
+	 * Fill an array with consecutive DNA segments of the sequence for a given seed
+	 * @param res	an array to fill
+	 * 				res != null
+	 * @param seed	a long that chooses the sequence of DNA segments
+	 * @param from	the index in the sequence of the DNA segment to put in res[0]
+	 * 				from >= 0
+	 */
+	public void fill(DNA[] res, long seed, long from) {
+		for (int i = 0; i < res.length; i++) {
+			res[i] = generate(seed, from + i);
+		}
+	}
+
+	/**
+	 * @return	a well-spread seed for the generator of the DNA segment at index of the sequence for seed
+	 */
+	private static long mix(long seed, long index) {
+		long z = seed + (index + 1) * 0x9e3779b97f4a7c15L;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,165 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+public class ReconstructionCache {
+	private LinkedHashMap<String, Solution> solutions;
+	private int capacity;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Create an empty ReconstructionCache object that keeps the DNA segments reconstructed for the most recently used electrophoreses
+	 * @param capacity	the maximum number of electrophoreses to remember
+	 * 					capacity >= 0
+	 */
+	public ReconstructionCache(int capacity) {
+		this.capacity = capacity;
+		solutions = new LinkedHashMap<String, Solution>(16, 0.75f, true);
+	}
+
+	/**
+	 * @return	the number of lookups that found a remembered DNA segment
+	 */
+	public synchronized long getHits() { return hits; }
+
+	/**
+	 * @return	the number of lookups that did not find a remembered DNA segment
+	 */
+	public synchronized long getMisses() { return misses; }
+
+	/**
+	 * @return	the number of remembered DNA segments that were forgotten to stay within capacity
+	 */
+	public synchronized long getEvictions() { return evictions; }
+
+	/**
+	 * @return	the number of electrophoreses currently remembered
+	 */
+	public synchronized int size() { return solutions.size(); }
+
+	/**
+	 * Forget every remembered DNA segment and reset the counters
+	 */
+	public synchronized void clear() {
+		solutions.clear();
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	/**
+	 * Find the order in which the enzymes of an electrophoresis appear in its signature:
+	 * enzymes are ordered by their sorted fragment sizes, so the order does not depend on their names or on the order they were given in
+	 * @param ele	an Electrophoresis object
+	 * 				ele != null
+	 * @return		an array of indices into ele.getEnzymes()
+	 */
+	public static int[] order(Electrophoresis ele) {
+		int[][] tracks = new int[ele.getEnzymes().length][];
+		Integer[] order = new Integer[tracks.length];
+		for (int i = 0; i < tracks.length; i++) {
+			tracks[i] = ele.getTrack(i).getFragmentSizes();
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Arrays.compare(tracks[a], tracks[b]));
+		int[] res = new int[order.length];
+		for (int i = 0; i < res.length; i++) {
+			res[i] = order[i];
+		}
+		return res;
+	}
+
+	/**
+	 * @param ele	an Electrophoresis object
+	 * 				ele != null
+	 * @param order	the order of the enzymes of ele, as returned by order(ele)
+	 * @return		a String holding the sorted fragment sizes of every track of ele, with the enzyme tracks in the given order
+	 */
+	public static String signature(Electrophoresis ele, int[] order) {
+		StringBuilder res = new StringBuilder();
+		res.append(Arrays.toString(ele.getTrack(ele.getNumTracks()-1).getFragmentSizes()));
+		for (int i : order) {
+			res.append('|').append(Arrays.toString(ele.getTrack(i).getFragmentSizes()));
+		}
+		return res.toString();
+	}
+
+	/**
+	 * Find the remembered DNA segment for an electrophoresis
+	 * @param signature	the signature of ele
+	 * @param ele		an Electrophoresis object
+	 * 					ele != null
+	 * @param order		the order of the enzymes of ele, as returned by order(ele)
+	 * @return			a new DNA object for ele built from the remembered cuts, which is invalid if ele was remembered to have no DNA segment;
+	 * 					null if signature is not remembered
+	 */
+	public DNA get(String signature, Electrophoresis ele, int[] order) {
+		Solution solution;
+		synchronized (this) {
+			solution = solutions.get(signature);
+			if (solution == null) {
+				misses++;
+				return null;
+			}
+			hits++;
+		}
+		if (solution.cuts == null) {
+			return new LinearDNA(ele, null, null);
+		}
+		int[] cutEnzymes = new int[solution.cutTracks.length];
+		for (int i = 0; i < cutEnzymes.length; i++) {
+			cutEnzymes[i] = order[solution.cutTracks[i]];
+		}
+		if (solution.circular) {
+			return new CircularDNA(ele, solution.cuts.clone(), cutEnzymes);
+		}
+		return new LinearDNA(ele, solution.cuts.clone(), cutEnzymes);
+	}
+
+	/**
+	 * Remember the DNA segment reconstructed for an electrophoresis, forgetting the least recently used one if there are more than capacity
+	 * @param signature	the signature of the electrophoresis
+	 * @param dna		the DNA object reconstructed from the electrophoresis; may be invalid
+	 * @param order		the order of the enzymes of the electrophoresis, as returned by order(ele)
+	 */
+	public void put(String signature, DNA dna, int[] order) {
+		Solution solution = new Solution();
+		if (dna.isValid()) {
+			int[] rank = new int[order.length];
+			for (int i = 0; i < order.length; i++) {
+				rank[order[i]] = i;
+			}
+			solution.circular = dna instanceof CircularDNA;
+			solution.cuts = dna.getCuts().clone();
+			solution.cutTracks = new int[dna.getCutEnzymes().length];
+			for (int i = 0; i < solution.cutTracks.length; i++) {
+				solution.cutTracks[i] = rank[dna.getCutEnzymes()[i]];
+			}
+		}
+		synchronized (this) {
+			solutions.put(signature, solution);
+			Iterator<String> eldest = solutions.keySet().iterator();
+			while (solutions.size() > capacity) {
+				eldest.next();
+				eldest.remove();
+				evictions++;
+			}
+		}
+	}
+
+	public synchronized String toString() {
+		return "Reconstruction Cache: " +
+					"\n\tSize: " + solutions.size() + "/" + capacity +
+					"\n\tHits: " + hits +
+					"\n\tMisses: " + misses +
+					"\n\tEvictions: " + evictions;
+	}
+
+	private static class Solution {
+		private boolean circular;
+		private int[] cuts;
+		private int[] cutTracks;
+	}
+}
@@ -0,0 +1,220 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public interface ReconstructionStrategy {
+	/**
+	 * The largest estimated number of arrangements for which select() chooses BruteForceStrategy
+	 */
+	double BRUTE_FORCE_LIMIT = 100;
+
+	/**
+	 * The smallest estimated number of arrangements for which select() chooses HeuristicStrategy
+	 */
+	double HEURISTIC_LIMIT = 1e12;
+
+	/**
+	 * Search for one arrangement of cuts that produces the given tracks;
+	 * a linear arrangement is never greater than its reverse, and a circular arrangement is the least of its rotations
+	 * @param lengthDNA			an integer representing the number of kilobases in the DNA segment
+	 * 							lengthDNA > 0
+	 * @param circular			true if the DNA segment is circular; false if it is linear
+	 * @param allEnzymesTrack	an array of integers representing the length of fragments produced when all enzymes are simultaneously applied to the DNA segment
+	 * 							allEnzymesTrack.length > 0
+	 * @param enzymeTracks		an array holding, for each enzyme, an array of the length of fragments produced when that enzyme is individually applied to the DNA segment
+	 * 							enzymeTracks.length > 0
+	 * @param pool				a ForkJoinPool the strategy may search on, or null to search on the calling thread
+	 * @return					an array holding the position of each cut, in kilobases from the left end, in increasing order,
+	 * 							followed by an array holding the index of the enzyme that made each cut;
+	 * 							null if there is no arrangement
+	 */
+	int[][] reconstruct(int lengthDNA, boolean circular, int[] allEnzymesTrack, int[][] enzymeTracks, ForkJoinPool pool);
+
+	/**
+	 * Estimate the size of the search space of a reconstruction from its fragment multisets,
+	 * as the number of distinct orderings of the fragments produced by all enzymes times the number of distinct ways to assign the cuts to the enzymes
+	 * @return	the estimated number of arrangements; Double.POSITIVE_INFINITY if it is too large to represent
+	 */
+	static double estimate(boolean circular, int[] allEnzymesTrack, int[][] enzymeTracks) {
+		int numCuts = circular ? allEnzymesTrack.length : allEnzymesTrack.length - 1;
+		int[] cutsPerEnzyme = new int[enzymeTracks.length];
+		for (int i = 0; i < enzymeTracks.length; i++) {
+			cutsPerEnzyme[i] = Math.max(0, circular ? enzymeTracks[i].length : enzymeTracks[i].length - 1);
+		}
+		int[] sizes = allEnzymesTrack.clone();
+		Arrays.sort(sizes);
+		double res = logFactorial(sizes.length) + logFactorial(numCuts);
+		for (int i = 0, j = 0; i < sizes.length; i = j) {
+			while (j < sizes.length && sizes[j] == sizes[i]) {
+				j++;
+			}
+			res -= logFactorial(j - i);
+		}
+		for (int cuts : cutsPerEnzyme) {
+			res -= logFactorial(cuts);
+		}
+		return Math.exp(res);
+	}
+
+	/**
+	 * Choose a strategy based on estimate(): BruteForceStrategy for small search spaces, where trying every arrangement is cheapest,
+	 * HashJoinStrategy for any larger linear digest by two enzymes, HeuristicStrategy for other huge ones, and BacktrackingStrategy for everything in between
+	 * @return	the chosen strategy
+	 */
+	static ReconstructionStrategy select(boolean circular, int[] allEnzymesTrack, int[][] enzymeTracks) {
+		double estimate = estimate(circular, allEnzymesTrack, enzymeTracks);
+		if (estimate <= BRUTE_FORCE_LIMIT) {
+			return new BruteForceStrategy();
+		}
+		if (enzymeTracks.length == 2 && !circular) {
+			return new HashJoinStrategy();
+		}
+		if (estimate >= HEURISTIC_LIMIT) {
+			return new HeuristicStrategy();
+		}
+		return new BacktrackingStrategy();
+	}
+
+	/**
+	 * Turn an arrangement of cuts into the one kept for its group of symmetric arrangements:
+	 * a linear arrangement is reversed if its reverse is smaller, and a circular arrangement is rotated to the least of its rotations,
+	 * comparing fragment sizes first and enzymes second
+	 * @param cuts			an array of integers representing the position of each cut, in increasing order
+	 * @param cutEnzymes	an array of integers representing the index of the enzyme that made each cut
+	 * @return				an array holding the positions of the cuts of the kept arrangement, followed by an array holding the enzyme of each cut
+	 */
+	static int[][] canonical(int lengthDNA, boolean circular, int[] cuts, int[] cutEnzymes) {
+		int n = cuts.length;
+		int[][] res = new int[2][n];
+		if (!circular) {
+			int[] layout = new int[2*n + 1];
+			for (int i = 0; i <= n; i++) {
+				layout[2*i] = ((i == n) ? lengthDNA : cuts[i]) - ((i == 0) ? 0 : cuts[i-1]);
+				if (i < n) {
+					layout[2*i + 1] = cutEnzymes[i];
+				}
+			}
+			boolean reverse = false;
+			for (int i = 0, j = layout.length - 1; i < j; i++, j--) {
+				if (layout[i] != layout[j]) {
+					reverse = layout[i] > layout[j];
+					break;
+				}
+			}
+			for (int i = 0; i < n; i++) {
+				res[0][i] = reverse ? lengthDNA - cuts[n-1-i] : cuts[i];
+				res[1][i] = reverse ? cutEnzymes[n-1-i] : cutEnzymes[i];
+			}
+			return res;
+		}
+		int[] fragments = new int[n];
+		for (int i = 0; i < n; i++) {
+			fragments[i] = ((i == n-1) ? lengthDNA + cuts[0] : cuts[i+1]) - cuts[i];
+		}
+		int best = CyclicMatcher.leastRotation(fragments, cutEnzymes);
+		int position = 0;
+		for (int i = 0; i < n; i++) {
+			res[0][i] = position;
+			res[1][i] = cutEnzymes[(best + i) % n];
+			position += fragments[(best + i) % n];
+		}
+		return res;
+	}
+
+	/**
+	 * Give every cut between the fragments produced by all enzymes an enzyme, each enzyme getting as many cuts as its track needs,
+	 * for strategies that search over which enzyme made each cut
+	 * @return	an array of integers holding, in increasing order, the index of the enzyme of each cut;
+	 * 			null if the tracks cannot come from one DNA segment of lengthDNA kilobases, because their number of cuts or total length do not agree
+	 */
+	static int[] cutLabels(int lengthDNA, boolean circular, int[] allEnzymesTrack, int[][] enzymeTracks) {
+		int numCuts = circular ? allEnzymesTrack.length : allEnzymesTrack.length - 1;
+		int[] res = new int[Math.max(numCuts, 0)];
+		int n = 0;
+		for (int e = 0; e < enzymeTracks.length; e++) {
+			int enzymeCuts = circular ? enzymeTracks[e].length : enzymeTracks[e].length - 1;
+			if (enzymeCuts <= 0 || n + enzymeCuts > res.length || sum(enzymeTracks[e]) != lengthDNA) {
+				return null;
+			}
+			for (int i = 0; i < enzymeCuts; i++) {
+				res[n++] = e;
+			}
+		}
+		if (numCuts <= 0 || n != numCuts || sum(allEnzymesTrack) != lengthDNA) {
+			return null;
+		}
+		return res;
+	}
+
+	/**
+	 * @return	a copy of each enzyme's track with its fragments sorted, to compare with enzymeFragments()
+	 */
+	static int[][] sortedTracks(int[][] enzymeTracks) {
+		int[][] res = new int[enzymeTracks.length][];
+		for (int e = 0; e < enzymeTracks.length; e++) {
+			res[e] = enzymeTracks[e].clone();
+			Arrays.sort(res[e]);
+		}
+		return res;
+	}
+
+	/**
+	 * Set the position of each cut from an ordering of the fragments produced by all enzymes;
+	 * the first cut of a circular DNA segment is at position 0
+	 */
+	static void placeCuts(boolean circular, int[] order, int[] cuts) {
+		int position = 0;
+		for (int i = 0; i < cuts.length; i++) {
+			if (circular) {
+				cuts[i] = position;
+				position += order[i];
+			} else {
+				position += order[i];
+				cuts[i] = position;
+			}
+		}
+	}
+
+	/**
+	 * Find the fragments one enzyme produces in an arrangement of cuts
+	 * @param enzyme	the index of the enzyme
+	 * @param fragments	an array to put the fragments in, at least as long as the enzyme's track
+	 * @return			the number of fragments, which are put in fragments sorted in increasing order
+	 */
+	static int enzymeFragments(int lengthDNA, boolean circular, int[] cuts, int[] cutEnzymes, int enzyme, int[] fragments) {
+		int n = 0;
+		int first = -1;
+		int previous = 0;
+		for (int i = 0; i < cuts.length; i++) {
+			if (cutEnzymes[i] == enzyme) {
+				if (first < 0) {
+					first = cuts[i];
+					if (!circular) {
+						fragments[n++] = cuts[i];
+					}
+				} else {
+					fragments[n++] = cuts[i] - previous;
+				}
+				previous = cuts[i];
+			}
+		}
+		fragments[n++] = lengthDNA - previous + (circular ? first : 0);
+		Arrays.sort(fragments, 0, n);
+		return n;
+	}
+
+	private static int sum(int[] arr) {
+		int res = 0;
+		for (int a : arr) {
+			res += a;
+		}
+		return res;
+	}
+
+	private static double logFactorial(int n) {
+		double res = 0;
+		for (int i = 2; i <= n; i++) {
+			res += Math.log(i);
+		}
+		return res;
+	}
+}
@@ -0,0 +1,99 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class Reconstructions implements Iterator<DNA> {
+	private int lengthDNA;
+	private int[] allEnzymesTrack;
+	private int[][] enzymeTracks;
+	private String[] enzymeNames;
+	private long remaining;
+	private boolean circular;
+	private DoubleDigestSearch search;
+	private DNA next;
+
+	/**
+	 * Create Reconstructions object that lazily finds every DNA segment, linear ones first and then circular ones,
+	 * that could have produced the electrophoresis described by user input;
+	 * segments that only differ by reversing a linear segment or rotating a circular one are returned once
+	 * @param enzymes			an array of Enzymes, each holding the fragment sizes it produced when individually applied to the DNA segment
+	 * 							enzymes.length > 0
+	 * @param allEnzymesTrack	an array of integers representing the length of fragments produced when all enzymes are simultaneously applied to the DNA segment;
+	 * 							ignored if enzymes.length == 1
+	 * @param limit				the maximum number of DNA segments to return
+	 * 							limit >= 0
+	 */
+	public Reconstructions(Enzyme[] enzymes, int[] allEnzymesTrack, long limit) {
+		enzymeTracks = new int[enzymes.length][];
+		enzymeNames = new String[enzymes.length];
+		for (int i = 0; i < enzymes.length; i++) {
+			enzymeTracks[i] = enzymes[i].getFragmentSizes();
+			enzymeNames[i] = enzymes[i].getName();
+		}
+		this.allEnzymesTrack = (enzymes.length > 1) ? allEnzymesTrack : enzymeTracks[0];
+		for (int fragmentSize : this.allEnzymesTrack) {
+			lengthDNA += fragmentSize;
+		}
+		remaining = limit;
+		search = new DoubleDigestSearch(lengthDNA, circular, this.allEnzymesTrack, enzymeTracks);
+	}
+
+	/**
+	 * Create Reconstructions object that lazily finds every DNA segment, linear ones first and then circular ones,
+	 * that could have produced the given electrophoresis;
+	 * segments that only differ by reversing a linear segment or rotating a circular one are returned once
+	 * @param ele	an Electrophoresis object
+	 * 				ele.getEnzymes() != null
+	 * @param limit	the maximum number of DNA segments to return
+	 * 				limit >= 0
+	 */
+	public Reconstructions(Electrophoresis ele, long limit) {
+		this(enzymesWithTracks(ele), ele.getTrack(ele.getNumTracks()-1).getFragmentSizes(), limit);
+	}
+
+	/**
+	 * @return	true if there is at least one more DNA segment that has not yet been returned by next(); false otherwise
+	 */
+	public boolean hasNext() {
+		if (next != null) {
+			return true;
+		}
+		if (remaining <= 0) {
+			return false;
+		}
+		while (!search.next()) {
+			if (circular) {
+				remaining = 0;
+				return false;
+			}
+			circular = true;
+			search = new DoubleDigestSearch(lengthDNA, circular, allEnzymesTrack, enzymeTracks);
+		}
+		remaining--;
+		if (circular) {
+			next = new CircularDNA(lengthDNA, search.getCuts(), search.getCutEnzymes(), enzymeNames);
+		} else {
+			next = new LinearDNA(lengthDNA, search.getCuts(), search.getCutEnzymes(), enzymeNames);
+		}
+		return true;
+	}
+
+	/**
+	 * @return	the next DNA segment that could have produced the electrophoresis
+	 */
+	public DNA next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		DNA res = next;
+		next = null;
+		return res;
+	}
+
+	private static Enzyme[] enzymesWithTracks(Electrophoresis ele) {
+		Enzyme[] res = new Enzyme[ele.getEnzymes().length];
+		for (int i = 0; i < res.length; i++) {
+			res[i] = new Enzyme(ele.getEnzymes()[i].getName(), ele.getTrack(i).getFragmentSizes());
+		}
+		return res;
+	}
+}
@@ -0,0 +1,461 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/*
+ * Digests a nucleotide sequence in silico: finds every place where the recognition site of any enzyme occurs and cuts it there,
+ * producing the LinearDNA or CircularDNA map that Electrophoresis(DNA) turns into an electrophoresis.
+ * The recognition sites of all enzymes, expanded from their IUPAC codes and, unless they are palindromes, together with their reverse complements,
+ * are compiled into one Aho-Corasick automaton with a transition for every base from every state,
+ * so the sequence is scanned in a single pass with one array lookup per base, however many enzymes and sites there are.
+ * A cut is placed where the enzyme cuts the strand its site was read from and rounded to the units of the map; cuts of one enzyme that round to the same unit become one cut.
+ * A map cannot hold cuts of two different enzymes at one position, so where that happens only the first enzyme's cut is put in the map and the others are counted and warned about,
+ * but the electrophoresis kept by getEle() is built from each enzyme's own cuts, so every enzyme's track is right and the track for all enzymes has the shared unit once.
+ * Sequences are read in FASTA format, of which only the first record is digested, or as bare bases;
+ * files are memory-mapped DNAReader.MAPPED_WINDOW bytes at a time, so they may be larger than 2 GB.
+ */
+
+public class SequenceDigest {
+	public static final int MAX_PATTERNS_PER_SITE = 1 << 16;
+
+	private static final int[] BASES = new int[128];
+	private static final int[] IUPAC = new int[128];
+
+	private Enzyme[] enzymes;
+	private int basesPerUnit;
+	private int[] next;
+	private int[] outLink;
+	private int[] firstPattern;
+	private int numStates;
+	private int[] patternEnzyme;
+	private int[] patternLength;
+	private int[] patternCut;
+	private int[] nextPattern;
+	private int numPatterns;
+	private int maxLength;
+
+	private boolean circular;
+	private int state;
+	private long position;
+	private long wrapped;
+	private byte[] prefix;
+	private boolean lineStart;
+	private boolean skipLine;
+	private boolean done;
+	private long[] hits;
+	private int numHits;
+	private Electrophoresis ele;
+	private int droppedCuts;
+
+	static {
+		Arrays.fill(BASES, -1);
+		String bases = "ACGT";
+		for (int i = 0; i < 4; i++) {
+			BASES[bases.charAt(i)] = i;
+			BASES[Character.toLowerCase(bases.charAt(i))] = i;
+		}
+		BASES['U'] = 3;
+		BASES['u'] = 3;
+		String codes = "ACGTRYSWKMBDHVN";
+		int[] masks = {1, 2, 4, 8, 1|4, 2|8, 2|4, 1|8, 4|8, 1|2, 2|4|8, 1|4|8, 1|2|8, 1|2|4, 1|2|4|8};
+		for (int i = 0; i < codes.length(); i++) {
+			IUPAC[codes.charAt(i)] = masks[i];
+			IUPAC[Character.toLowerCase(codes.charAt(i))] = masks[i];
+		}
+	}
+
+	/**
+	 * Create SequenceDigest object that digests sequences with the given enzymes, compiling their recognition sites once so that it can digest any number of sequences;
+	 * an enzyme whose site is not made of IUPAC codes, or has more than MAX_PATTERNS_PER_SITE expansions, never cuts
+	 * @param enzymes		an array of Enzymes, each created with a recognition site and where it cuts
+	 * 						enzymes.length > 0
+	 * @param basesPerUnit	an integer representing the number of bases in one unit of the map produced, such as 1000 for a map in kilobases;
+	 * 						every cut is rounded to the nearest unit
+	 * 						basesPerUnit > 0
+	 */
+	public SequenceDigest(Enzyme[] enzymes, int basesPerUnit) {
+		this.enzymes = enzymes;
+		this.basesPerUnit = basesPerUnit;
+		next = new int[64 * 4];
+		outLink = new int[64];
+		firstPattern = new int[64];
+		patternEnzyme = new int[16];
+		patternLength = new int[16];
+		patternCut = new int[16];
+		nextPattern = new int[16];
+		Arrays.fill(next, -1);
+		firstPattern[0] = -1;
+		numStates = 1;
+		for (int e = 0; e < enzymes.length; e++) {
+			String site = enzymes[e].getSite();
+			ArrayList<byte[]> patterns = expand(site);
+			if (patterns == null) {
+				continue;
+			}
+			boolean palindrome = site.equalsIgnoreCase(reverseComplement(site));
+			for (byte[] pattern : patterns) {
+				addPattern(pattern, e, enzymes[e].getCut());
+				if (!palindrome) {
+					byte[] reverse = new byte[pattern.length];
+					for (int i = 0; i < pattern.length; i++) {
+						reverse[i] = (byte) (3 - pattern[pattern.length - 1 - i]);
+					}
+					addPattern(reverse, e, pattern.length - enzymes[e].getCut());
+				}
+			}
+		}
+		link();
+	}
+
+	/**
+	 * Digest the first sequence in a FASTA file, or a file holding only bases, reading it through memory-mapped windows
+	 * @param path		the path of the file
+	 * 					path != null
+	 * @param circular	true if the sequence is circular, so that sites spanning its end and start are found too; false if it is linear
+	 * @return			a LinearDNA or CircularDNA object holding the cuts made by the enzymes that cut the sequence at least once,
+	 * 					which is not valid if none of them does; see getDroppedCuts() for cuts that share a unit
+	 */
+	public DNA digest(Path path, boolean circular) throws IOException {
+		start(circular);
+		try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+			for (long mapped = 0; mapped < file.size() && !done; mapped += DNAReader.MAPPED_WINDOW) {
+				scan(file.map(FileChannel.MapMode.READ_ONLY, mapped, Math.min(DNAReader.MAPPED_WINDOW, file.size() - mapped)));
+			}
+		}
+		return finish();
+	}
+
+	/**
+	 * Digest a sequence held in memory
+	 * @param sequence	a String holding a sequence in FASTA format, or only its bases
+	 * 					sequence != null
+	 * @param circular	true if the sequence is circular, so that sites spanning its end and start are found too; false if it is linear
+	 * @return			a LinearDNA or CircularDNA object holding the cuts made by the enzymes that cut the sequence at least once,
+	 * 					which is not valid if none of them does; see getDroppedCuts() for cuts that share a unit
+	 */
+	public DNA digest(String sequence, boolean circular) {
+		start(circular);
+		byte[] bytes = new byte[sequence.length()];
+		for (int i = 0; i < bytes.length; i++) {
+			char c = sequence.charAt(i);
+			bytes[i] = (byte) ((c < 128) ? c : '?');
+		}
+		scan(ByteBuffer.wrap(bytes));
+		return finish();
+	}
+
+	/**
+	 * @return	the Electrophoresis of the sequence last digested, in which each enzyme's track holds the fragments of every one of its cuts,
+	 * 			including those left out of the map because another enzyme cuts at the same unit, and the track for all enzymes has each unit cut once;
+	 * 			its getDNA() is null; null if no sequence was digested yet or the last map was not valid
+	 */
+	public Electrophoresis getEle() { return ele; }
+
+	/**
+	 * @return	the number of cuts left out of the map last returned because an enzyme earlier in enzymes cuts at the same unit;
+	 * 			0 if there were none, and a smaller basesPerUnit makes them rarer
+	 */
+	public int getDroppedCuts() { return droppedCuts; }
+
+	private void start(boolean circular) {
+		this.circular = circular;
+		state = 0;
+		position = 0;
+		wrapped = -1;
+		prefix = new byte[Math.max(maxLength - 1, 0)];
+		lineStart = true;
+		skipLine = false;
+		done = false;
+		hits = new long[1024];
+		numHits = 0;
+		ele = null;
+		droppedCuts = 0;
+	}
+
+	/**
+	 * Feed the next bytes of the input through the automaton, skipping FASTA header and comment lines, line breaks and anything else that is not a letter;
+	 * a letter that is not a base, such as N, is counted but ends any site being read
+	 */
+	private void scan(ByteBuffer buffer) {
+		while (buffer.hasRemaining() && !done) {
+			int c = buffer.get() & 0x7F;
+			if (c == '\n' || c == '\r') {
+				lineStart = true;
+				skipLine = false;
+				continue;
+			}
+			if (lineStart && (c == '>' || c == ';')) {
+				done = position > 0;
+				skipLine = true;
+			}
+			lineStart = false;
+			if (skipLine || !Character.isLetter(c)) {
+				continue;
+			}
+			int base = BASES[c];
+			if (position < prefix.length) {
+				prefix[(int) position] = (byte) base;
+			}
+			step(base, position);
+			position++;
+		}
+	}
+
+	/**
+	 * Move the automaton on by one base, and record a cut for every site that ends at it
+	 * @param base		the base read, 0 to 3 for A, C, G and T, or -1 for anything else
+	 * @param index		the index of the base in the sequence, which is at least its length for the bases read again when wrapping around a circular sequence,
+	 * 					in which case only the sites that start before the end are recorded, the others having been found already
+	 */
+	private void step(int base, long index) {
+		state = (base < 0) ? 0 : next[4*state + base];
+		for (int s = (firstPattern[state] >= 0) ? state : outLink[state]; s > 0; s = outLink[s]) {
+			for (int p = firstPattern[s]; p >= 0; p = nextPattern[p]) {
+				long start = index - patternLength[p] + 1;
+				if (wrapped >= 0 && start >= wrapped) {
+					continue;
+				}
+				if (numHits == hits.length) {
+					hits = Arrays.copyOf(hits, 2*numHits);
+				}
+				hits[numHits++] = ((start + patternCut[p]) << 16) | patternEnzyme[p];
+			}
+		}
+	}
+
+	/**
+	 * Read the start of a circular sequence again to find the sites spanning its end, and build the map of all cuts found
+	 */
+	private DNA finish() {
+		long length = position;
+		if (circular) {
+			wrapped = length;
+			for (int i = 0; i < prefix.length && i < length; i++) {
+				step(prefix[i], length + i);
+			}
+		}
+		int lengthDNA = (int) Math.min(Math.round((double) length / basesPerUnit), Integer.MAX_VALUE);
+		long[] cuts = new long[numHits];
+		int numCuts = 0;
+		for (int i = 0; i < numHits; i++) {
+			long cut = hits[i] >> 16;
+			if (circular && length > 0) {
+				cut = Math.floorMod(cut, length);
+			}
+			long unit = Math.round((double) cut / basesPerUnit);
+			if (circular && unit == lengthDNA) {
+				unit = 0;
+			}
+			if (circular || (unit > 0 && unit < lengthDNA)) {
+				cuts[numCuts++] = (unit << 16) | (hits[i] & 0xFFFF);
+			}
+		}
+		Arrays.sort(cuts, 0, numCuts);
+		int[] positions = new int[numCuts];
+		int[] cutEnzymes = new int[numCuts];
+		int[] index = new int[enzymes.length];
+		ArrayList<String> names = new ArrayList<String>();
+		int[] enzymePositions = new int[numCuts];
+		int[] enzymeCuts = new int[numCuts];
+		int[] enzymeIndex = new int[enzymes.length];
+		ArrayList<String> enzymeNames = new ArrayList<String>();
+		int n = 0;
+		int numEnzymeCuts = 0;
+		for (int i = 0; i < numCuts; i++) {
+			if (i > 0 && cuts[i] == cuts[i-1]) {
+				continue;
+			}
+			int enzyme = (int) (cuts[i] & 0xFFFF);
+			int unit = (int) (cuts[i] >> 16);
+			if (enzymeIndex[enzyme] == 0) {
+				enzymeNames.add(enzymes[enzyme].getName());
+				enzymeIndex[enzyme] = enzymeNames.size();
+			}
+			enzymePositions[numEnzymeCuts] = unit;
+			enzymeCuts[numEnzymeCuts++] = enzymeIndex[enzyme] - 1;
+			if (n > 0 && positions[n-1] == unit) {
+				droppedCuts++;
+				continue;
+			}
+			if (index[enzyme] == 0) {
+				names.add(enzymes[enzyme].getName());
+				index[enzyme] = names.size();
+			}
+			positions[n] = unit;
+			cutEnzymes[n++] = index[enzyme] - 1;
+		}
+		positions = Arrays.copyOf(positions, n);
+		cutEnzymes = Arrays.copyOf(cutEnzymes, n);
+		hits = null;
+		if (n > 0 && lengthDNA > 0) {
+			ele = electrophoresis(lengthDNA, positions, Arrays.copyOf(enzymePositions, numEnzymeCuts), Arrays.copyOf(enzymeCuts, numEnzymeCuts), enzymeNames);
+		}
+		if (droppedCuts > 0) {
+			System.err.println("SequenceDigest: " + droppedCuts + " cuts left out of the map because another enzyme cuts at the same unit of " + basesPerUnit + " bases");
+		}
+		if (circular && n > 0) {
+			int first = positions[0];
+			for (int i = 0; i < n; i++) {
+				positions[i] -= first;
+			}
+		}
+		int[] res = (n > 0 && lengthDNA > 0) ? positions : null;
+		String[] mapNames = names.toArray(new String[names.size()]);
+		if (circular) {
+			return new CircularDNA(lengthDNA, res, cutEnzymes, mapNames);
+		}
+		return new LinearDNA(lengthDNA, res, cutEnzymes, mapNames);
+	}
+
+	/**
+	 * Build the electrophoresis of a digest from every enzyme's own cuts
+	 * @param positions			the units cut by any enzyme, in increasing order, each once
+	 * @param enzymePositions	the units cut by each enzyme, in increasing order, a unit appearing once for each enzyme that cuts it
+	 * @param enzymeCuts		the index in names of the enzyme making each cut in enzymePositions
+	 * @param names				the names of the enzymes that cut at least once
+	 */
+	private Electrophoresis electrophoresis(int lengthDNA, int[] positions, int[] enzymePositions, int[] enzymeCuts, ArrayList<String> names) {
+		Enzyme[] res = new Enzyme[names.size()];
+		Track[] tracks = new Track[names.size() > 1 ? names.size() + 1 : 1];
+		int[] fragments = new int[enzymePositions.length + 1];
+		for (int e = 0; e < res.length; e++) {
+			int numFragments = ReconstructionStrategy.enzymeFragments(lengthDNA, circular, enzymePositions, enzymeCuts, e, fragments);
+			res[e] = new Enzyme(names.get(e), circular ? numFragments : numFragments - 1);
+			tracks[e] = new Track(Arrays.copyOf(fragments, numFragments));
+		}
+		if (res.length > 1) {
+			int numFragments = ReconstructionStrategy.enzymeFragments(lengthDNA, circular, positions, new int[positions.length], 0, fragments);
+			tracks[tracks.length-1] = new Track(Arrays.copyOf(fragments, numFragments));
+		}
+		return new Electrophoresis(lengthDNA, res, tracks);
+	}
+
+	/**
+	 * Add a site to the trie of the automaton
+	 * @param pattern	an array of bases, 0 to 3 for A, C, G and T
+	 * @param enzyme	the index in enzymes of the enzyme it belongs to
+	 * @param cut		the number of bases from the start of pattern to the cut
+	 */
+	private void addPattern(byte[] pattern, int enzyme, int cut) {
+		int s = 0;
+		for (byte base : pattern) {
+			if (next[4*s + base] < 0) {
+				if (numStates == outLink.length) {
+					next = Arrays.copyOf(next, 8*numStates);
+					Arrays.fill(next, 4*numStates, 8*numStates, -1);
+					outLink = Arrays.copyOf(outLink, 2*numStates);
+					firstPattern = Arrays.copyOf(firstPattern, 2*numStates);
+				}
+				firstPattern[numStates] = -1;
+				next[4*s + base] = numStates++;
+			}
+			s = next[4*s + base];
+		}
+		for (int p = firstPattern[s]; p >= 0; p = nextPattern[p]) {
+			if (patternEnzyme[p] == enzyme && patternCut[p] == cut) {
+				return;
+			}
+		}
+		if (numPatterns == patternEnzyme.length) {
+			patternEnzyme = Arrays.copyOf(patternEnzyme, 2*numPatterns);
+			patternLength = Arrays.copyOf(patternLength, 2*numPatterns);
+			patternCut = Arrays.copyOf(patternCut, 2*numPatterns);
+			nextPattern = Arrays.copyOf(nextPattern, 2*numPatterns);
+		}
+		patternEnzyme[numPatterns] = enzyme;
+		patternLength[numPatterns] = pattern.length;
+		patternCut[numPatterns] = cut;
+		nextPattern[numPatterns] = firstPattern[s];
+		firstPattern[s] = numPatterns++;
+		maxLength = Math.max(maxLength, pattern.length);
+	}
+
+	/**
+	 * Turn the trie into an automaton, breadth first: a missing transition goes where the same base leads from the state's failure link,
+	 * the longest proper suffix of the state that is also in the trie,
+	 * and each state's output link points to the nearest state along its failure links where a site ends
+	 */
+	private void link() {
+		int[] fail = new int[numStates];
+		int[] queue = new int[numStates];
+		int head = 0;
+		int tail = 0;
+		for (int base = 0; base < 4; base++) {
+			if (next[base] < 0) {
+				next[base] = 0;
+			} else {
+				queue[tail++] = next[base];
+			}
+		}
+		while (head < tail) {
+			int s = queue[head++];
+			outLink[s] = (firstPattern[fail[s]] >= 0) ? fail[s] : outLink[fail[s]];
+			for (int base = 0; base < 4; base++) {
+				int t = next[4*s + base];
+				if (t < 0) {
+					next[4*s + base] = next[4*fail[s] + base];
+				} else {
+					fail[t] = next[4*fail[s] + base];
+					queue[tail++] = t;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param site	a String of IUPAC nucleotide codes
+	 * @return		an ArrayList holding every sequence of bases site matches; null if site is not made of IUPAC codes or matches more than MAX_PATTERNS_PER_SITE sequences
+	 */
+	private static ArrayList<byte[]> expand(String site) {
+		if (site == null || site.isEmpty()) {
+			return null;
+		}
+		long total = 1;
+		for (int i = 0; i < site.length(); i++) {
+			char c = site.charAt(i);
+			if (c >= 128 || IUPAC[c] == 0) {
+				return null;
+			}
+			total *= Integer.bitCount(IUPAC[c]);
+			if (total > MAX_PATTERNS_PER_SITE) {
+				return null;
+			}
+		}
+		ArrayList<byte[]> res = new ArrayList<byte[]>();
+		res.add(new byte[site.length()]);
+		for (int i = 0; i < site.length(); i++) {
+			int mask = IUPAC[site.charAt(i)];
+			ArrayList<byte[]> expanded = new ArrayList<byte[]>();
+			for (byte[] pattern : res) {
+				for (int base = 0; base < 4; base++) {
+					if ((mask & (1 << base)) != 0) {
+						byte[] copy = pattern.clone();
+						copy[i] = (byte) base;
+						expanded.add(copy);
+					}
+				}
+			}
+			res = expanded;
+		}
+		return res;
+	}
+
+	/**
+	 * @param site	a String of IUPAC nucleotide codes
+	 * @return		the reverse complement of site, the site as read from the other strand
+	 */
+	private static String reverseComplement(String site) {
+		String codes = "ACGTRYSWKMBDHVN";
+		String complements = "TGCAYRSWMKVHDBN";
+		StringBuilder res = new StringBuilder();
+		for (int i = site.length() - 1; i >= 0; i--) {
+			int k = codes.indexOf(Character.toUpperCase(site.charAt(i)));
+			res.append((k < 0) ? '?' : complements.charAt(k));
+		}
+		return res.toString();
+	}
+}
@@ -1,5 +1,7 @@
 import java.util.ArrayList;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
 /*
  * 1. 
@@ -89,7 +91,7 @@ public class Test {
 		System.out.println("Please input your linear DNA segment with the desired enzyme cuts, using the following example as a guide.");
 		System.out.println("\t\"-A---B--B---A--A-\" represents a linear DNA segment that is 12 kilobases long because there are 12 dashes.");
 		System.out.println("\tIt was cut 3 times by enzyme A and 2 times by enzyme B, producing a total of 6 fragments.");
-		System.out.println("\tNote that enzyme names must be denoted by a single uppercase letter;");
+		System.out.println("\tNote that enzyme names must be denoted by a single uppercase letter or a longer name between square brackets, such as \"[EcoRI]\";");
 		System.out.println("\tmultiple enzymes cannot make the same cut (for example, \"-AB-\" is invalid);");
 		System.out.println("\tan enzyme cannot make a cut at either end of the DNA segment (for example, \"B---A-\" is invalid).");
         String inp = INPUT.nextLine();
@@ -107,7 +109,7 @@ public class Test {
 		System.out.println("Please input your circular DNA segment with the desired enzyme cuts, using the following example as a guide.");
 		System.out.println("\t\"A-B---B--A--B---A---->\" represents a circular DNA segment that is 15 kilobases long because there are 15 dashes.");
 		System.out.println("\tIt was cut 3 times by enzyme A and 3 times by enzyme B, producing a total of 6 fragments.");
-		System.out.println("\tNote that enzyme names must be denoted by a single uppercase letter;");
+		System.out.println("\tNote that enzyme names must be denoted by a single uppercase letter or a longer name between square brackets, such as \"[EcoRI]\";");
 		System.out.println("\tmultiple enzymes cannot make the same cut (for example, \"-AB-\" is invalid);");
 		System.out.println("\tyour input must begin with a cut and end with a fragment followed by \">\" to denote that the end connects to the start;");
         String inp = INPUT.nextLine();
@@ -132,17 +134,17 @@ public class Test {
 		System.out.println("Your electrophoresis has a maximum of " + maxScale + " kilobases on its scale.");
 		
 		System.out.println("Please input the names of all enzymes used on your DNA segment or -1 to quit.");
-		System.out.println("\tNote that only the first letter of each enzyme name will be saved,");
-		System.out.println("\tthus, each enzyme must start with a different letter;");
+		System.out.println("\tEach name must start with a letter followed by letters, digits, \".\", \"-\" or \"_\", such as \"EcoRI\";");
+		System.out.println("\ta single letter is saved in uppercase, and names that are already included are ignored;");
 		System.out.println("\tyour electrophoresis must include at least 1 enzyme.");
 		ArrayList<Object> enzymeNames = new ArrayList<Object>();
+		EnzymeIndex enzymeIds = new EnzymeIndex();
 		String inp = INPUT.nextLine();
 		while (!inp.equals("-1") || enzymeNames.size() == 0) {
-			if (inp.length() > 0 && Character.isLetter(inp.charAt(0))) {
-				String enzymeLetter = ("" + inp.charAt(0)).toUpperCase();
-				if (enzymeNames.indexOf(enzymeLetter) == -1) {
-					enzymeNames.add(enzymeLetter);
-				}
+			String enzymeName = (inp.trim().length() == 1) ? inp.trim().toUpperCase() : inp.trim();
+			if (EnzymeRegistry.isValidName(enzymeName) && enzymeIds.indexOf(EnzymeRegistry.id(enzymeName)) == -1) {
+				enzymeIds.add(enzymeName);
+				enzymeNames.add(enzymeName);
 			}
 			inp = INPUT.nextLine();
 		}
@@ -184,7 +186,6 @@ public class Test {
 	 * Creates random DNA and associated Electrophoresis objects based on given parameters
 	 * @param numEnzymes	maximum number of different types of enzymes that can be applied to the DNA segment, inclusive
 	 * 						numEnzymes > 0
-	 * 						numEnzymes <= 26
 	 * @param minSize		minimum  number of fragments and cuts to be included in dna ArrayList, inclusive
 	 * 						minSize >= 3
 	 * @param maxSize		maximum  number of fragments and cuts to be included in dna ArrayList, inclusive
@@ -195,22 +196,9 @@ public class Test {
 	 * 						maxFragment >= minFragment
 	 */
 	public static void randomTest(int numEnzymes, int minSize, int maxSize, int minFragment, int maxFragment) {
-		String enzymes = Helper.LETTERS.substring(0, numEnzymes);
-		int num = Helper.randomInt(minSize, maxSize);
-		boolean isLinear = num % 2 == 1;
-		ArrayList<Object> dna = new ArrayList<Object>(num);
-		for (int i = 0; i < num; i++) {
-			if ((isLinear && i % 2 == 0) || (!isLinear && i % 2 == 1)) {
-				dna.add(Helper.randomInt(minFragment, maxFragment));
-			} else {
-				dna.add(String.valueOf(enzymes.charAt(Helper.randomInt(0, numEnzymes-1))));
-			}
-		}
-		if (isLinear) {
-			printAll(new LinearDNA(dna));
-		} else {
-			printAll(new CircularDNA(dna));
-		}
+		long seed = new SplittableRandom().nextLong();
+		System.out.println("Your DNA segment was generated from seed " + seed + ".");
+		printAll(new RandomDNA(numEnzymes, minSize, maxSize, minFragment, maxFragment).generate(seed, 0));
 	}
 
 	/**
@@ -218,9 +206,9 @@ public class Test {
 	 */
 	public static void randomTest() {
 		System.out.println("Please input the maximum number of enzymes that may be applied to the DNA segment.");
-		System.out.println("\tThis must be a positive non-zero integer less than or equal to 26.");
+		System.out.println("\tThis must be a positive non-zero integer; enzymes after Z are named AA, AB and so on.");
 		int numEnzymes = INPUT.nextInt();
-		while (numEnzymes <= 0 || numEnzymes > 26) {
+		while (numEnzymes <= 0) {
 			printInvalid();
 			numEnzymes = INPUT.nextInt();
 		}
@@ -274,6 +262,8 @@ public class Test {
 		printAll(new LinearDNA("-A---B--B---A--A-"));
 		System.out.println("CircularDNA String --> Electrophoresis\n");
 		printAll(new CircularDNA("A-B---B--A--B---A---->"));
+		System.out.println("LinearDNA String with Catalog Enzyme Names --> Electrophoresis\n");
+		printAll(new LinearDNA("--[EcoRI]---[HindIII]--[EcoRI]----"));
 		System.out.println("LinearDNA ArrayList --> Electrophoresis\n");
 		printAll(new LinearDNA(new ArrayList<Object>() {{
 			add(1);
@@ -311,6 +301,51 @@ public class Test {
 		printAll((new Electrophoresis(15,
 				new Enzyme[]{new Enzyme("A", new int[]{4, 5, 6}), new Enzyme("B", new int[]{3, 4, 8})},
 				new int[]{1, 2, 2, 3, 3, 4})).getDNA());
+		System.out.println("Partial Digest --> LinearDNA\n");
+		printAll(new LinearDNA("A", new int[]{2, 2, 3, 3, 4, 5, 6, 7, 8, 10}));
+		System.out.println("Electrophoresis with 5% Error --> DNA\n");
+		printAll((new Electrophoresis(120,
+				new Enzyme[]{new Enzyme("A", new int[]{10, 10, 21, 78}), new Enzyme("B", new int[]{21, 39, 62})},
+				new int[]{10, 10, 21, 20, 31, 29}, 0.05)).getDNA());
+		System.out.println("Circular Nucleotide Sequence Digested by EcoRI and BamHI --> Electrophoresis\n");
+		printAll(new SequenceDigest(new Enzyme[]{new Enzyme("EcoRI", "GAATTC", 1), new Enzyme("BamHI", "GGATCC", 1)}, 1)
+				.digest(">demo plasmid\nATTCAAAGGATCCTTTTTGGATCCAAAAAGAATTCTTTTTGA", true));
+		System.out.println("LinearDNA --> Fragments for Every Subset of Enzymes\n");
+		Helper.printLine(80);
+		System.out.println(new DigestMatrix(new LinearDNA("-A--C-B--B-C--A--A-")));
+		System.out.println();
+		Helper.printLine(80);
+		System.out.println("Library of Plasmids --> Enzymes That Best Tell Them Apart\n");
+		DigestPlanner planner = new DigestPlanner(new DNA[]{
+				new CircularDNA("[EcoRI]----[BamHI]--------[HindIII]-------->"),
+				new CircularDNA("[EcoRI]--------[BamHI]----[HindIII]-------->"),
+				new CircularDNA("[EcoRI]----[BamHI]--------[NotI]---[HindIII]----->"),
+				new CircularDNA("[EcoRI]------[BamHI]------[HindIII]-------->")}, 0.05);
+		Helper.printLine(80);
+		for (DigestPlanner.Plan plan : planner.plan(3, 3, ForkJoinPool.commonPool())) {
+			System.out.println(plan);
+		}
+		Helper.printLine(80);
+		System.out.println("LinearDNA Edited One Cut at a Time --> Electrophoresis\n");
+		MutableDNA edited = new MutableDNA(new LinearDNA("-A---B--B---A--A-"));
+		edited.moveCut(11, 10);
+		edited.setEnzyme(6, "C");
+		edited.removeCut(4);
+		edited.addCut(7, "B");
+		Helper.printLine(80);
+		System.out.println(edited);
+		System.out.println();
+		System.out.println(edited.getEle());
+		Helper.printLine(80);
+		System.out.println("Electrophoresis --> All DNA\n");
+		Reconstructions all = new Reconstructions(
+				new Enzyme[]{new Enzyme("A", new int[]{1, 1, 2, 8}), new Enzyme("B", new int[]{2, 4, 6})},
+				new int[]{1, 1, 2, 2, 3, 3}, 10);
+		Helper.printLine(80);
+		while (all.hasNext()) {
+			System.out.println(all.next());
+		}
+		Helper.printLine(80);
 	}
 	
 	/**
@@ -0,0 +1,374 @@
+import java.util.Arrays;
+
+public class ToleranceDigestSearch {
+	private boolean circular;
+	private int numFragments;
+	private int numCuts;
+	private int[] lo;
+	private int[] hi;
+	private int[][] enzymeLo;
+	private int[][] enzymeHi;
+	private int minLength;
+	private int maxLength;
+
+	private boolean[] used;
+	private boolean[][] enzymeUsed;
+	private int[] enzymeRemaining;
+	private int[] first;
+	private int[] last;
+	private int[] sumLo;
+	private int[] sumHi;
+	private int[] fragments;
+	private int[] cutEnzymes;
+	private int[] from;
+	private int[] to;
+	private int[] band;
+	private int[] bandEnzyme;
+	private int numMatched;
+
+	private int lengthDNA;
+	private int[] cuts;
+
+	/**
+	 * Create ToleranceDigestSearch object that searches for an arrangement of cuts consistent with band sizes that are only known to lie in intervals;
+	 * the fragments are placed from left to right, and a choice is undone as soon as the interval of a fragment closed by an enzyme
+	 * cannot meet the interval of any band that enzyme still has left, rather than when the sizes do not match exactly;
+	 * once every fragment is placed, exact sizes within every interval are found if they exist
+	 * @param circular	true if the DNA segment is circular; false if it is linear
+	 * @param lo		an array of integers representing the smallest possible size of each fragment produced when all enzymes are simultaneously applied
+	 * 					lo[i] > 0 for i in [0, lo.length)
+	 * @param hi		an array of integers representing the largest possible size of each of those fragments
+	 * 					hi.length == lo.length
+	 * 					hi[i] >= lo[i] for i in [0, hi.length)
+	 * @param enzymeLo	an array holding, for each enzyme, an array of the smallest possible size of each fragment produced when that enzyme is individually applied
+	 * 					enzymeLo.length > 0
+	 * @param enzymeHi	an array holding, for each enzyme, an array of the largest possible size of each of those fragments
+	 * 					enzymeHi[e].length == enzymeLo[e].length for e in [0, enzymeHi.length)
+	 */
+	public ToleranceDigestSearch(boolean circular, int[] lo, int[] hi, int[][] enzymeLo, int[][] enzymeHi) {
+		this.circular = circular;
+		numFragments = lo.length;
+		numCuts = circular ? numFragments : numFragments - 1;
+		int[][] bands = sortBands(lo, hi);
+		this.lo = bands[0];
+		this.hi = bands[1];
+		this.enzymeLo = new int[enzymeLo.length][];
+		this.enzymeHi = new int[enzymeLo.length][];
+		minLength = sum(lo);
+		maxLength = sum(hi);
+		int enzymeCuts = 0;
+		for (int e = 0; e < enzymeLo.length; e++) {
+			bands = sortBands(enzymeLo[e], enzymeHi[e]);
+			this.enzymeLo[e] = bands[0];
+			this.enzymeHi[e] = bands[1];
+			minLength = Math.max(minLength, sum(enzymeLo[e]));
+			maxLength = Math.min(maxLength, sum(enzymeHi[e]));
+			enzymeCuts += circular ? enzymeLo[e].length : enzymeLo[e].length - 1;
+		}
+		if (numCuts <= 0 || enzymeCuts != numCuts) {
+			maxLength = -1;
+		}
+	}
+
+	/**
+	 * Create the intervals of band sizes measured with a given relative error
+	 * @param fragmentSizes	an array of integers representing the measured size of each fragment
+	 * @param tolerance		the largest relative error of a measured size, so a fragment measured as s is between s*(1-tolerance) and s*(1+tolerance)
+	 * 						tolerance >= 0
+	 * @return				an array holding the smallest possible sizes, rounded up, followed by an array holding the largest possible sizes, rounded down;
+	 * 						every smallest size is at least 1, and no interval is empty
+	 */
+	public static int[][] intervals(int[] fragmentSizes, double tolerance) {
+		int[][] res = new int[2][fragmentSizes.length];
+		for (int i = 0; i < fragmentSizes.length; i++) {
+			res[0][i] = Math.max(1, (int) Math.ceil(fragmentSizes[i] * (1 - tolerance) - 1e-9));
+			res[1][i] = Math.max(res[0][i], (int) Math.floor(fragmentSizes[i] * (1 + tolerance) + 1e-9));
+		}
+		return res;
+	}
+
+	/**
+	 * @return	an integer representing the number of kilobases in the DNA segment found by the last successful call to search()
+	 */
+	public int getLengthDNA() { return lengthDNA; }
+
+	/**
+	 * @return	an array of integers, where each integer represents the position, in kilobases from the left end, of a cut found by the last successful call to search()
+	 */
+	public int[] getCuts() { return cuts.clone(); }
+
+	/**
+	 * @return	an array of integers, where each integer represents the index of the enzyme that made the corresponding cut in getCuts()
+	 */
+	public int[] getCutEnzymes() { return cutEnzymes.clone(); }
+
+	/**
+	 * Search for an arrangement of cuts, and exact fragment sizes within every interval, consistent with every track
+	 * @return	true if one was found and can be read with getLengthDNA(), getCuts() and getCutEnzymes(); false if there is none
+	 */
+	public boolean search() {
+		if (minLength > maxLength) {
+			return false;
+		}
+		used = new boolean[numFragments];
+		enzymeUsed = new boolean[enzymeLo.length][];
+		enzymeRemaining = new int[enzymeLo.length];
+		first = new int[enzymeLo.length];
+		last = new int[enzymeLo.length];
+		for (int e = 0; e < enzymeLo.length; e++) {
+			enzymeUsed[e] = new boolean[enzymeLo[e].length];
+			enzymeRemaining[e] = enzymeLo[e].length;
+			first[e] = circular ? -1 : 0;
+			last[e] = first[e];
+		}
+		sumLo = new int[numFragments + 1];
+		sumHi = new int[numFragments + 1];
+		fragments = new int[numFragments];
+		cutEnzymes = new int[numCuts];
+		from = new int[numFragments + enzymeLo.length];
+		to = new int[from.length];
+		band = new int[from.length];
+		bandEnzyme = new int[from.length];
+		numMatched = 0;
+		return circular ? cut(0) : fragment(0);
+	}
+
+	/**
+	 * Place fragment k, between the point at index k and the point at index k+1 of the segment,
+	 * where point i is the left end for i == 0 and cut i-1 otherwise for a linear segment, and cut i for a circular segment
+	 */
+	private boolean fragment(int k) {
+		for (int j = 0; j < numFragments; j++) {
+			if (used[j] || (j > 0 && !used[j-1] && lo[j] == lo[j-1] && hi[j] == hi[j-1])) {
+				continue;
+			}
+			used[j] = true;
+			fragments[k] = j;
+			sumLo[k+1] = sumLo[k] + lo[j];
+			sumHi[k+1] = sumHi[k] + hi[j];
+			boolean found = (sumLo[k+1] <= maxLength) && ((k+1 == numFragments) ? close() : cut(circular ? k+1 : k));
+			used[j] = false;
+			if (found) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Make cut k, at point p of the segment, with each enzyme in turn; fragment p is the next one to place
+	 */
+	private boolean cut(int k) {
+		int p = circular ? k : k+1;
+		for (int e = 0; e < enzymeLo.length; e++) {
+			if (!isOpenFeasible(e, p)) {
+				continue;
+			}
+			cutEnzymes[k] = e;
+			int previousFirst = first[e];
+			int previousLast = last[e];
+			boolean found;
+			if (first[e] < 0) {
+				first[e] = p;
+				last[e] = p;
+				found = fragment(p);
+			} else {
+				found = matchAndContinue(e, last[e], p, p);
+			}
+			first[e] = previousFirst;
+			last[e] = previousLast;
+			if (found) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Match the fragment of enzyme e between points a and b to each band of e whose interval meets the interval of the fragment, and go on placing fragments from fragment k
+	 */
+	private boolean matchAndContinue(int e, int a, int b, int k) {
+		if (enzymeRemaining[e] == 1) {
+			return false;
+		}
+		int fragmentLo = sumLo[b] - sumLo[a];
+		int fragmentHi = sumHi[b] - sumHi[a];
+		for (int i = 0; i < enzymeLo[e].length; i++) {
+			if (enzymeUsed[e][i] || enzymeLo[e][i] > fragmentHi || enzymeHi[e][i] < fragmentLo ||
+					(i > 0 && !enzymeUsed[e][i-1] && enzymeLo[e][i] == enzymeLo[e][i-1] && enzymeHi[e][i] == enzymeHi[e][i-1])) {
+				continue;
+			}
+			match(e, i, a, b);
+			last[e] = b;
+			boolean found = fragment(k);
+			unmatch(e, i);
+			if (found) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return	true if, after cutting at point p with an enzyme other than f, the fragment f has left open could still meet one of its bands; false otherwise
+	 */
+	private boolean isOpenFeasible(int e, int p) {
+		for (int f = 0; f < enzymeLo.length; f++) {
+			if (f != e && last[f] >= 0) {
+				int maxHi = 0;
+				for (int i = 0; i < enzymeHi[f].length; i++) {
+					if (!enzymeUsed[f][i]) {
+						maxHi = Math.max(maxHi, enzymeHi[f][i]);
+					}
+				}
+				if (sumLo[p] - sumLo[last[f]] >= maxHi) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Match the last fragment of every enzyme, which ends at the right end of a linear segment or wraps around a circular one, to the band it has left,
+	 * and then look for exact sizes
+	 */
+	private boolean close() {
+		int matched = numMatched;
+		for (int e = 0; e < enzymeLo.length; e++) {
+			int i = 0;
+			while (enzymeUsed[e][i]) {
+				i++;
+			}
+			int fragmentLo = sumLo[numFragments] - sumLo[last[e]] + (circular ? sumLo[first[e]] : 0);
+			int fragmentHi = sumHi[numFragments] - sumHi[last[e]] + (circular ? sumHi[first[e]] : 0);
+			if (first[e] < 0 || enzymeLo[e][i] > fragmentHi || enzymeHi[e][i] < fragmentLo) {
+				numMatched = matched;
+				return false;
+			}
+			from[numMatched] = last[e];
+			to[numMatched] = circular ? first[e] : numFragments;
+			band[numMatched] = i;
+			bandEnzyme[numMatched] = e;
+			numMatched++;
+		}
+		int minL = Math.max(minLength, sumLo[numFragments]);
+		int maxL = Math.min(maxLength, sumHi[numFragments]);
+		boolean found = false;
+		for (int length = minL; length <= maxL && !found; length++) {
+			found = solve(length);
+			if (!circular) {
+				break;
+			}
+		}
+		numMatched = matched;
+		return found;
+	}
+
+	/**
+	 * Find exact positions for every point of the segment that keep each fragment inside its interval,
+	 * by finding shortest paths in the graph of the difference constraints between the positions
+	 * @param length	the length of a circular segment; ignored for a linear segment
+	 * @return			true if the positions exist, in which case they are stored; false otherwise
+	 */
+	private boolean solve(int length) {
+		int numPoints = numFragments + 1;
+		int numEdges = 2 * (numFragments + numMatched + 1);
+		int[] u = new int[numEdges];
+		int[] v = new int[numEdges];
+		int[] w = new int[numEdges];
+		int n = 0;
+		for (int k = 0; k < numFragments; k++) {
+			n = constrain(u, v, w, n, k, k+1, lo[fragments[k]], hi[fragments[k]]);
+		}
+		for (int m = 0; m < numMatched; m++) {
+			int l = enzymeLo[bandEnzyme[m]][band[m]];
+			int h = enzymeHi[bandEnzyme[m]][band[m]];
+			if (circular && m >= numMatched - enzymeLo.length) {
+				n = constrain(u, v, w, n, from[m], to[m], l - length, h - length);
+			} else {
+				n = constrain(u, v, w, n, from[m], to[m], l, h);
+			}
+		}
+		if (circular) {
+			n = constrain(u, v, w, n, 0, numFragments, length, length);
+		} else {
+			n = constrain(u, v, w, n, 0, numFragments, minLength, maxLength);
+		}
+
+		long[] dist = new long[numPoints];
+		for (int round = 0; round <= numPoints; round++) {
+			boolean changed = false;
+			for (int i = 0; i < n; i++) {
+				if (dist[u[i]] + w[i] < dist[v[i]]) {
+					dist[v[i]] = dist[u[i]] + w[i];
+					changed = true;
+				}
+			}
+			if (!changed) {
+				lengthDNA = (int) (dist[numFragments] - dist[0]);
+				cuts = new int[numCuts];
+				for (int k = 0; k < numCuts; k++) {
+					cuts[k] = (int) (dist[circular ? k : k+1] - dist[0]);
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Add the constraint l <= position(b) - position(a) <= h as two edges
+	 * @return	the number of edges after adding them
+	 */
+	private static int constrain(int[] u, int[] v, int[] w, int n, int a, int b, int l, int h) {
+		u[n] = a;
+		v[n] = b;
+		w[n] = h;
+		u[n+1] = b;
+		v[n+1] = a;
+		w[n+1] = -l;
+		return n + 2;
+	}
+
+	private void match(int e, int i, int a, int b) {
+		enzymeUsed[e][i] = true;
+		enzymeRemaining[e]--;
+		from[numMatched] = a;
+		to[numMatched] = b;
+		band[numMatched] = i;
+		bandEnzyme[numMatched] = e;
+		numMatched++;
+	}
+
+	private void unmatch(int e, int i) {
+		enzymeUsed[e][i] = false;
+		enzymeRemaining[e]++;
+		numMatched--;
+	}
+
+	/**
+	 * @return	the intervals sorted by their smallest and then largest size, so that equal intervals are next to each other
+	 */
+	private static int[][] sortBands(int[] lo, int[] hi) {
+		long[] bands = new long[lo.length];
+		for (int i = 0; i < lo.length; i++) {
+			bands[i] = ((long) lo[i] << 32) | hi[i];
+		}
+		Arrays.sort(bands);
+		int[][] res = new int[2][lo.length];
+		for (int i = 0; i < lo.length; i++) {
+			res[0][i] = (int) (bands[i] >>> 32);
+			res[1][i] = (int) bands[i];
+		}
+		return res;
+	}
+
+	private static int sum(int[] arr) {
+		int res = 0;
+		for (int a : arr) {
+			res += a;
+		}
+		return res;
+	}
+}
@@ -0,0 +1,128 @@
+import java.util.Map;
+import java.util.TreeMap;
+
+public class Track {
+	private TreeMap<Integer, Integer> bands;
+	private int numFragments;
+	private int length;
+
+	/**
+	 * Create an empty Track object
+	 */
+	public Track() {
+		bands = new TreeMap<Integer, Integer>();
+	}
+
+	/**
+	 * Create Track object holding the given fragments
+	 * @param fragmentSizes	an array of integers, where each integer represents the size of a fragment in this track
+	 * 						fragmentSizes[i] > 0 for i in [0, fragmentSizes.length)
+	 */
+	public Track(int[] fragmentSizes) {
+		this();
+		for (int fragmentSize : fragmentSizes) {
+			add(fragmentSize);
+		}
+	}
+
+	/**
+	 * Create Track object holding the same fragments as another Track, which later changes to either do not affect
+	 * @param track	a Track object
+	 */
+	public Track(Track track) {
+		bands = new TreeMap<Integer, Integer>(track.bands);
+		numFragments = track.numFragments;
+		length = track.length;
+	}
+
+	/**
+	 * @param fragmentSize	an integer representing the size of a fragment
+	 * @return				an integer representing the number of fragments of that size in this track
+	 */
+	public int getCount(int fragmentSize) {
+		Integer count = bands.get(fragmentSize);
+		return count == null ? 0 : count;
+	}
+
+	/**
+	 * @return	an array of integers holding the size of each band in this track, in increasing order;
+	 * 			every size appears once no matter how many fragments share it
+	 */
+	public int[] getSizes() {
+		int[] res = new int[bands.size()];
+		int i = 0;
+		for (int size : bands.keySet()) {
+			res[i++] = size;
+		}
+		return res;
+	}
+
+	/**
+	 * @return	an array of integers holding the size of every fragment in this track, in increasing order
+	 */
+	public int[] getFragmentSizes() {
+		int[] res = new int[numFragments];
+		int i = 0;
+		for (Map.Entry<Integer, Integer> band : bands.entrySet()) {
+			for (int j = 0; j < band.getValue(); j++) {
+				res[i++] = band.getKey();
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * @return	an integer representing the number of different fragment sizes in this track
+	 */
+	public int getNumBands() { return bands.size(); }
+
+	/**
+	 * @return	an integer representing the total number of fragments in this track
+	 */
+	public int getNumFragments() { return numFragments; }
+
+	/**
+	 * @return	an integer representing the sum of the sizes of all fragments in this track
+	 */
+	public int getLength() { return length; }
+
+	/**
+	 * Add a fragment to this track
+	 * @param fragmentSize	an integer representing the size of the fragment
+	 * 						fragmentSize > 0
+	 */
+	public void add(int fragmentSize) {
+		bands.merge(fragmentSize, 1, Integer::sum);
+		numFragments++;
+		length += fragmentSize;
+	}
+
+	/**
+	 * Add several fragments of the same size to this track
+	 * @param fragmentSize	an integer representing the size of the fragments
+	 * 						fragmentSize > 0
+	 * @param count			an integer representing the number of fragments
+	 * 						count > 0
+	 */
+	public void add(int fragmentSize, int count) {
+		bands.merge(fragmentSize, count, Integer::sum);
+		numFragments += count;
+		length += fragmentSize * count;
+	}
+
+	/**
+	 * Remove a fragment from this track
+	 * @param fragmentSize	an integer representing the size of the fragment
+	 * 						getCount(fragmentSize) > 0
+	 */
+	public void remove(int fragmentSize) {
+		Integer count = bands.get(fragmentSize);
+		if (count == 1) {
+			bands.remove(fragmentSize);
+		} else {
+			bands.put(fragmentSize, count - 1);
+		}
+		numFragments--;
+		length -= fragmentSize;
+	}
+}
@@ -0,0 +1,81 @@
+import java.util.ArrayList;
+import java.util.Random;
+
+import benchmarks.Workload;
+
+/*
+ * The benchmarked operations on one random DNA map, for the benchmarks in jmh/benchmarks.
+ */
+
+public class MapWorkload implements Workload {
+	public static final long SEED = 42;
+
+	private boolean circular;
+	private ArrayList<Object> map;
+	private String rep;
+	private DNA dna;
+	private Electrophoresis ele;
+	private Enzyme[] enzymes;
+	private int[] allEnzymesTrack;
+
+	/**
+	 * Create MapWorkload object for a random DNA map, as described by Workload.create
+	 */
+	public MapWorkload(boolean circular, int numEnzymes, int numFragments, int minFragment, int maxFragment) {
+		this.circular = circular;
+		map = randomMap(numFragments, numEnzymes, minFragment, maxFragment, circular);
+		dna = circular ? new CircularDNA(map) : new LinearDNA(map);
+		if (!dna.isValid() || dna.getEnzymes().length != numEnzymes) {
+			throw new IllegalArgumentException("Not a valid map with " + numEnzymes + " enzymes: " + dna);
+		}
+		rep = dna.getRep();
+		ele = dna.getEle();
+		enzymes = new Enzyme[numEnzymes];
+		for (int i = 0; i < numEnzymes; i++) {
+			enzymes[i] = new Enzyme(dna.getEnzymes()[i].getName(), ele.getTrack(i).getFragmentSizes());
+		}
+		allEnzymesTrack = ele.moreThanOneEnzyme() ? ele.getTrack(ele.getNumTracks()-1).getFragmentSizes() : new int[0];
+	}
+
+	public Object digestString() {
+		return circular ? new CircularDNA(rep) : new LinearDNA(rep);
+	}
+
+	public Object digestArrayList() {
+		return circular ? new CircularDNA(map) : new LinearDNA(map);
+	}
+
+	public Object electrophoresis() {
+		return new Electrophoresis(dna);
+	}
+
+	public Object reconstruct() {
+		Electrophoresis.CACHE.clear();
+		return new Electrophoresis(ele.getMaxScale(), enzymes, allEnzymesTrack);
+	}
+
+	public Object render() {
+		return ele.toString();
+	}
+
+	public Object renderBands() {
+		return new GelRenderer(ele, GelRenderer.Rows.BANDS).toString();
+	}
+
+	/**
+	 * Create a random ArrayList of alternating fragment sizes and enzyme cuts, the same for every run;
+	 * the first numEnzymes cuts are made by enzymes A, B, C, ... so that every enzyme cuts at least once
+	 */
+	private static ArrayList<Object> randomMap(int numFragments, int numEnzymes, int minFragment, int maxFragment, boolean circular) {
+		Random random = new Random(SEED + 31*numFragments + numEnzymes);
+		ArrayList<Object> res = new ArrayList<Object>();
+		for (int i = 0; i < numFragments; i++) {
+			int cut = circular ? i : i - 1;
+			if (cut >= 0) {
+				res.add(EnzymeRegistry.catalogName(cut < numEnzymes ? cut : random.nextInt(numEnzymes)));
+			}
+			res.add(minFragment + random.nextInt(maxFragment - minFragment + 1));
+		}
+		return res;
+	}
+}
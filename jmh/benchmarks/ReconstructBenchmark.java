@@ -0,0 +1,52 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Benchmarks finding a DNA segment from the tracks of its electrophoresis, over linear and circular maps
+ * with different numbers of enzymes and fragments of random sizes; the electrophoresis cache is cleared before every call.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReconstructBenchmark {
+	@Param({"false", "true"})
+	public boolean circular;
+
+	@Param({"2", "3", "4"})
+	public int numEnzymes;
+
+	@Param({"6", "10", "16"})
+	public int numFragments;
+
+	@Param({"10"})
+	public int maxFragment;
+
+	private Workload workload;
+
+	@Setup
+	public void setup() {
+		workload = Workload.create(circular, numEnzymes, numFragments, 1, maxFragment);
+	}
+
+	@Benchmark
+	public Object reconstruct() {
+		return workload.reconstruct();
+	}
+}
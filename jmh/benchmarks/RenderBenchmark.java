@@ -0,0 +1,57 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Benchmarks printing the electrophoresis of a DNA map as text and as a gel, over linear and circular maps
+ * with different numbers of enzymes, fragments and fragment sizes; a maxFragment of 1 makes every fragment the same size.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+	@Param({"false", "true"})
+	public boolean circular;
+
+	@Param({"1", "2", "4"})
+	public int numEnzymes;
+
+	@Param({"8", "32", "128"})
+	public int numFragments;
+
+	@Param({"1", "4", "100"})
+	public int maxFragment;
+
+	private Workload workload;
+
+	@Setup
+	public void setup() {
+		workload = Workload.create(circular, numEnzymes, numFragments, 1, maxFragment);
+	}
+
+	@Benchmark
+	public Object render() {
+		return workload.render();
+	}
+
+	@Benchmark
+	public Object renderBands() {
+		return workload.renderBands();
+	}
+}
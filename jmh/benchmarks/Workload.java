@@ -0,0 +1,61 @@
+package benchmarks;
+
+/*
+ * The operations benchmarked on one random DNA map.
+ * JMH only accepts benchmarks in a named package, and the classes being benchmarked are in the default package, which a named package cannot refer to,
+ * so the operations are implemented by the default package class MapWorkload and reached through this interface;
+ * it is looked up by name once per trial, so every measured call is an ordinary interface call.
+ */
+
+public interface Workload {
+	/**
+	 * Create the Workload for a random DNA map, the same for every run with the same parameters:
+	 * numFragments fragments of sizes in [minFragment, maxFragment], cut by numEnzymes enzymes that each cut at least once
+	 * @param circular		true for a CircularDNA map; false for a LinearDNA map
+	 * @param numEnzymes	numEnzymes > 0
+	 * @param numFragments	numFragments > numEnzymes
+	 * @param minFragment	minFragment > 0
+	 * @param maxFragment	maxFragment >= minFragment
+	 * @return				the Workload for that map
+	 */
+	static Workload create(boolean circular, int numEnzymes, int numFragments, int minFragment, int maxFragment) {
+		try {
+			return (Workload) Class.forName("MapWorkload")
+					.getConstructor(boolean.class, int.class, int.class, int.class, int.class)
+					.newInstance(circular, numEnzymes, numFragments, minFragment, maxFragment);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("MapWorkload is missing from the benchmark build", e);
+		}
+	}
+
+	/**
+	 * @return	the DNA segment parsed from its String representation, with new LinearDNA(String) or new CircularDNA(String)
+	 */
+	Object digestString();
+
+	/**
+	 * @return	the DNA segment built from its ArrayList of fragment sizes and enzyme names, with new LinearDNA(ArrayList) or new CircularDNA(ArrayList)
+	 */
+	Object digestArrayList();
+
+	/**
+	 * @return	the Electrophoresis of the DNA segment, with new Electrophoresis(DNA)
+	 */
+	Object electrophoresis();
+
+	/**
+	 * @return	the DNA segment found from the tracks of its electrophoresis, with new Electrophoresis(int, Enzyme[], int[]),
+	 * 			after clearing Electrophoresis.CACHE so that the search itself is measured
+	 */
+	Object reconstruct();
+
+	/**
+	 * @return	the String representation of the electrophoresis, with Electrophoresis.toString()
+	 */
+	Object render();
+
+	/**
+	 * @return	the electrophoresis drawn as a gel, with GelRenderer.toString()
+	 */
+	Object renderBands();
+}